@@ -0,0 +1,13 @@
+package io.github.lama06.llamagames;
+
+public enum DeadlyBlockDetection {
+    /**
+     * Checks the block under a player every time the player moves
+     */
+    MOVE_EVENT,
+
+    /**
+     * Checks the blocks under all players at the end of every n-th tick using cached chunk snapshots
+     */
+    TICK
+}
@@ -0,0 +1,9 @@
+package io.github.lama06.llamagames;
+
+/**
+ * A way in which a game reduces its load while the server is overloaded.
+ *
+ * @param activate   called when the {@link LoadGovernor} enters this step
+ * @param deactivate called when the server has recovered and the step is left again
+ */
+public record DegradationStep(String name, Runnable activate, Runnable deactivate) { }
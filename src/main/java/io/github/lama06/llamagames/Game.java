@@ -1,11 +1,16 @@
 package io.github.lama06.llamagames;
 
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import io.github.lama06.llamagames.util.AreaSnapshot;
+import io.github.lama06.llamagames.util.BlockArea;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.title.Title;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -13,6 +18,7 @@ import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
@@ -27,9 +33,14 @@ public abstract class Game<G extends Game<G, C>, C extends GameConfig> implement
     protected final C config;
     protected boolean running = false;
     protected final EventCanceler canceler;
+    protected final OwnedEntities ownedEntities;
     protected final Random random = new Random();
     private Set<Player> players = new HashSet<>();
     private BukkitTask countdownTask = null;
+    private AreaSnapshot arenaSnapshot;
+    private final Location deadlyBlockCheckLocation = new Location(null, 0, 0, 0);
+    private List<DegradationStep> degradationSteps;
+    private int degradationLevel = 0;
 
     public Game(LlamaGamesPlugin plugin, World world, C config, GameType<G, C> type) {
         this.plugin = plugin;
@@ -39,6 +50,8 @@ public abstract class Game<G extends Game<G, C>, C extends GameConfig> implement
 
         canceler = new EventCanceler(plugin, this);
         canceler.disallowAll();
+
+        ownedEntities = new OwnedEntities(plugin, this);
     }
 
     public final boolean startGame(String[] args) {
@@ -55,6 +68,8 @@ public abstract class Game<G extends Game<G, C>, C extends GameConfig> implement
 
         running = true;
 
+        arenaSnapshot = new AreaSnapshot(world, getArenaAreas());
+
         handleGameStarted(args);
 
         plugin.getSLF4JLogger().info("Game in world %s was started".formatted(world.getName()));
@@ -80,7 +95,10 @@ public abstract class Game<G extends Game<G, C>, C extends GameConfig> implement
         running = false;
         handleGameEnded(reason);
 
+        ownedEntities.removeAll();
+
         players = null;
+        arenaSnapshot = null;
 
         if (reason.isShouldAttemptToStartNextGame()) {
             tryToStartAfterCountdown();
@@ -94,6 +112,7 @@ public abstract class Game<G extends Game<G, C>, C extends GameConfig> implement
     public final void loadGame() {
         Bukkit.getPluginManager().registerEvents(this, plugin);
         canceler.registerEvents();
+        ownedEntities.registerEvents();
 
         if (!config.isComplete()) {
             plugin.getLogger().warning("The configuration for the following game is not complete: %s".formatted(world.getName()));
@@ -109,6 +128,7 @@ public abstract class Game<G extends Game<G, C>, C extends GameConfig> implement
 
         HandlerList.unregisterAll(this);
         canceler.unregisterEvents();
+        ownedEntities.unregisterEvents();
 
         handleGameUnloaded();
     }
@@ -130,6 +150,72 @@ public abstract class Game<G extends Game<G, C>, C extends GameConfig> implement
 
     public void handlePlayerLeft(Player player) { }
 
+    /**
+     * Called after the config was changed by a command. Collections of the config can be changed while the game is running.
+     */
+    public void handleConfigChanged() { }
+
+    /**
+     * Returns the block that kills players who stand on it or null if there is no such block in this game.
+     */
+    protected Material getDeadlyBlock() {
+        return null;
+    }
+
+    /**
+     * Returns the areas in which players can touch the deadly block. The chunks containing them are cached when
+     * deadly blocks are detected every tick.
+     */
+    protected Collection<BlockArea> getArenaAreas() {
+        return Collections.emptyList();
+    }
+
+    protected void handlePlayerTouchedDeadlyBlock(Player player) { }
+
+    /**
+     * Returns the steps in which this game reduces its load while the server is overloaded, starting with the mildest.
+     * Steps are entered in this order and left in the reverse order.
+     */
+    protected List<DegradationStep> getDegradationSteps() {
+        return Collections.emptyList();
+    }
+
+    public final int getNumberOfDegradationSteps() {
+        if (degradationSteps == null) {
+            degradationSteps = getDegradationSteps();
+        }
+
+        return degradationSteps.size();
+    }
+
+    /**
+     * Enters or leaves degradation steps until the given number of steps is active.
+     */
+    public final void setDegradationLevel(int level) {
+        level = Math.max(0, Math.min(level, getNumberOfDegradationSteps()));
+
+        while (degradationLevel < level) {
+            degradationSteps.get(degradationLevel++).activate().run();
+        }
+
+        while (degradationLevel > level) {
+            degradationSteps.get(--degradationLevel).deactivate().run();
+        }
+    }
+
+    public int getDegradationLevel() {
+        return degradationLevel;
+    }
+
+    /**
+     * Must be called after blocks inside the arena areas were changed.
+     */
+    protected void invalidateArenaSnapshot() {
+        if (arenaSnapshot != null) {
+            arenaSnapshot.invalidate();
+        }
+    }
+
     protected void setSpectator(Player player, boolean spectator) {
         if (!running) {
             throw new IllegalStateException("setSpectator() called but the game is not running");
@@ -209,6 +295,56 @@ public abstract class Game<G extends Game<G, C>, C extends GameConfig> implement
         }
     }
 
+    @EventHandler
+    public void detectDeadlyBlocksOnMove(PlayerMoveEvent event) {
+        if (!running || config.getDeadlyBlockDetection() != DeadlyBlockDetection.MOVE_EVENT) {
+            return;
+        }
+
+        Material deadlyBlock = getDeadlyBlock();
+        if (deadlyBlock == null || !players.contains(event.getPlayer())) {
+            return;
+        }
+
+        // Also check moves inside the same block because the block under the player may have become deadly meanwhile
+        Location to = event.getTo();
+        if (world.getType(to.getBlockX(), to.getBlockY() - 1, to.getBlockZ()) != deadlyBlock) {
+            return;
+        }
+
+        handlePlayerTouchedDeadlyBlock(event.getPlayer());
+    }
+
+    @EventHandler
+    public void detectDeadlyBlocksOnTick(ServerTickEndEvent event) {
+        if (!running || config.getDeadlyBlockDetection() != DeadlyBlockDetection.TICK) {
+            return;
+        }
+
+        if (event.getTickNumber() % Math.max(1, config.getDeadlyBlockCheckInterval()) != 0) {
+            return;
+        }
+
+        Material deadlyBlock = getDeadlyBlock();
+        if (deadlyBlock == null) {
+            return;
+        }
+
+        for (Player player : new ArrayList<>(players)) { // Avoid ConcurrentModificationException
+            Location location = player.getLocation(deadlyBlockCheckLocation);
+            Material type = arenaSnapshot.getBlockType(location.getBlockX(), location.getBlockY() - 1, location.getBlockZ());
+            if (type != deadlyBlock) {
+                continue;
+            }
+
+            handlePlayerTouchedDeadlyBlock(player);
+
+            if (!running) {
+                return;
+            }
+        }
+    }
+
     private void tryToStartAfterCountdown() {
         if (!canStart(world.getPlayers().size())) {
             return;
@@ -271,6 +407,10 @@ public abstract class Game<G extends Game<G, C>, C extends GameConfig> implement
         return canceler;
     }
 
+    public OwnedEntities getOwnedEntities() {
+        return ownedEntities;
+    }
+
     /**
      * Returns all players in this game world excluding spectators.
      */
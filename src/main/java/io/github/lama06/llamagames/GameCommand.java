@@ -2,6 +2,9 @@ package io.github.lama06.llamagames;
 
 import net.kyori.adventure.text.Component;
 
+import java.util.Locale;
+import java.util.Optional;
+
 public abstract class GameCommand extends LlamaCommand {
     public GameCommand(LlamaGamesPlugin plugin, String name) {
         super(plugin, name);
@@ -38,4 +41,28 @@ public abstract class GameCommand extends LlamaCommand {
                         Component.text("Operators are no longer allowed to perform events")
         ));
     }
+
+    protected void addDeadlyBlockDetectionSubCommands() {
+        addSubCommand("deadlyBlockDetection", createConfigSubCommand(
+                plugin,
+                null,
+                config -> Component.text("Deadly blocks are currently detected using: %s"
+                        .formatted(config.getDeadlyBlockDetection().name().toLowerCase(Locale.ROOT))),
+                GameConfig::setDeadlyBlockDetection,
+                detection -> Component.text("Deadly blocks will now be detected using: %s".formatted(detection.name().toLowerCase(Locale.ROOT))),
+                (sender, args) -> {
+                    if (!requireArgsExact(sender, args, 1)) return Optional.empty();
+                    return requireEnum(sender, DeadlyBlockDetection.class, args[0]);
+                }
+        ));
+
+        addSubCommand("deadlyBlockCheckInterval", createIntegerConfigSubCommand(
+                plugin,
+                null,
+                config -> Component.text("Deadly blocks are checked every %d ticks if they are detected every tick"
+                        .formatted(config.getDeadlyBlockCheckInterval())),
+                (config, interval) -> config.setDeadlyBlockCheckInterval(Math.max(1, interval)),
+                interval -> Component.text("Deadly blocks will now be checked every %d ticks".formatted(Math.max(1, interval)))
+        ));
+    }
 }
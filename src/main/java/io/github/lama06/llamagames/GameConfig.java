@@ -7,6 +7,8 @@ public abstract class GameConfig {
     private EntityPosition spawnPoint;
     private boolean cancelEvents = true;
     private boolean doNotCancelOpEvents = true;
+    private DeadlyBlockDetection deadlyBlockDetection = DeadlyBlockDetection.MOVE_EVENT;
+    private int deadlyBlockCheckInterval = 1;
 
     @MustBeInvokedByOverriders
     public boolean isComplete() {
@@ -36,4 +38,20 @@ public abstract class GameConfig {
     public void setDoNotCancelOpEvents(boolean doNotCancelOpEvents) {
         this.doNotCancelOpEvents = doNotCancelOpEvents;
     }
+
+    public DeadlyBlockDetection getDeadlyBlockDetection() {
+        return deadlyBlockDetection;
+    }
+
+    public void setDeadlyBlockDetection(DeadlyBlockDetection deadlyBlockDetection) {
+        this.deadlyBlockDetection = deadlyBlockDetection;
+    }
+
+    public int getDeadlyBlockCheckInterval() {
+        return deadlyBlockCheckInterval;
+    }
+
+    public void setDeadlyBlockCheckInterval(int deadlyBlockCheckInterval) {
+        this.deadlyBlockCheckInterval = deadlyBlockCheckInterval;
+    }
 }
@@ -134,6 +134,17 @@ public abstract class LlamaCommand implements TabExecutor {
         }
     }
 
+    public static <E extends Enum<E>> Optional<E> requireEnum(CommandSender sender, Class<E> type, String name) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(name)) {
+                return Optional.of(constant);
+            }
+        }
+
+        sender.sendMessage(Component.text("Failed to parse: %s".formatted(name)).color(NamedTextColor.RED));
+        return Optional.empty();
+    }
+
     public static Optional<NamespacedKey> requireNamespacedKey(CommandSender sender, String name) {
         NamespacedKey key = NamespacedKey.fromString(name);
         if (key == null) {
@@ -304,6 +315,7 @@ public abstract class LlamaCommand implements TabExecutor {
                 }
 
                 configChangedCallback.accept(game.get().getConfig(), newConfigValue.get());
+                game.get().handleConfigChanged();
 
                 boolean failed = !plugin.getGameManager().saveGameConfig(sender);
                 if (failed) {
@@ -659,8 +671,14 @@ public abstract class LlamaCommand implements TabExecutor {
 
             switch (args[1].toLowerCase(Locale.ROOT)) {
                 case "list" -> listElementsStrategy.handleList(plugin, sender, collection);
-                case "add" -> addElementStrategy.handleAdd(plugin, sender, Arrays.copyOfRange(args, 2, args.length), collection);
-                case "remove" -> removeElementStrategy.handleRemove(plugin, sender, Arrays.copyOfRange(args, 2, args.length), collection);
+                case "add" -> {
+                    addElementStrategy.handleAdd(plugin, sender, Arrays.copyOfRange(args, 2, args.length), collection);
+                    game.get().handleConfigChanged();
+                }
+                case "remove" -> {
+                    removeElementStrategy.handleRemove(plugin, sender, Arrays.copyOfRange(args, 2, args.length), collection);
+                    game.get().handleConfigChanged();
+                }
                 default -> sender.sendMessage(Component.text("No sub command with this name was found. Please use: list/add/remove", NamedTextColor.RED));
             }
         };
@@ -19,6 +19,7 @@ public class LlamaGamesCommand extends LlamaCommand {
         addSubCommand("start", this::start);
         addSubCommand("stop", this::stop);
         addSubCommand("saveConfig", this::saveConfig);
+        addSubCommand("load", this::load);
     }
 
     public void create(CommandSender sender, String[] args) {
@@ -112,4 +113,18 @@ public class LlamaGamesCommand extends LlamaCommand {
             sender.sendMessage(Component.text("Saved the config file", NamedTextColor.GREEN));
         }
     }
+
+    public void load(CommandSender sender, String[] args) {
+        if (!requireOp(sender)) return;
+
+        LoadGovernor governor = plugin.getLoadGovernor();
+        TextComponent.Builder text = Component.text().content("%.1f mspt, degradation level %d".formatted(governor.getAverageMspt(), governor.getLevel()));
+        for (Game<?, ?> game : plugin.getGameManager().getGames()) {
+            text.append(Component.newline());
+            text.append(Component.text(game.getWorld().getName()));
+            text.append(Component.text(" -> "));
+            text.append(Component.text("%d/%d steps active".formatted(game.getDegradationLevel(), game.getNumberOfDegradationSteps())));
+        }
+        sender.sendMessage(text);
+    }
 }
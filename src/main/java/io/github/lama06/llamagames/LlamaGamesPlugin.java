@@ -8,6 +8,7 @@ import java.util.function.Consumer;
 
 public class LlamaGamesPlugin extends JavaPlugin {
     private GameManager gameManager;
+    private LoadGovernor loadGovernor;
     private Logger logger;
 
     @Override
@@ -22,6 +23,8 @@ public class LlamaGamesPlugin extends JavaPlugin {
 
         gameManager.backupConfigFile();
 
+        loadGovernor = new LoadGovernor(this);
+
         boolean loadResult = gameManager.loadGames();
         if (!loadResult) {
             logger.error("Failed to load the games from the game config file! Disabling the plugin!");
@@ -61,4 +64,8 @@ public class LlamaGamesPlugin extends JavaPlugin {
     public GameManager getGameManager() {
         return gameManager;
     }
+
+    public LoadGovernor getLoadGovernor() {
+        return loadGovernor;
+    }
 }
@@ -0,0 +1,95 @@
+package io.github.lama06.llamagames;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.destroystokyo.paper.event.server.ServerTickStartEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+/**
+ * Measures how long the server takes for each tick and tells the games to shed load while it is overloaded.
+ * The average of every {@link #EVALUATION_INTERVAL} ticks is compared to two thresholds: above {@link #DEGRADE_MSPT}
+ * the degradation level is raised by one, below {@link #RECOVER_MSPT} it is lowered by one. Every game enters its own
+ * {@link DegradationStep}s up to the current level, see {@link Game#getDegradationSteps()}.
+ */
+public class LoadGovernor implements Listener {
+    private static final int EVALUATION_INTERVAL = 40;
+    private static final double DEGRADE_MSPT = 45;
+    private static final double RECOVER_MSPT = 35;
+
+    private final LlamaGamesPlugin plugin;
+    private long tickStart = -1;
+    private long totalNanos = 0;
+    private int measuredTicks = 0;
+    private double averageMspt = 0;
+    private int level = 0;
+
+    public LoadGovernor(LlamaGamesPlugin plugin) {
+        this.plugin = plugin;
+
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void handleTickStart(ServerTickStartEvent event) {
+        tickStart = System.nanoTime();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void handleTickEnd(ServerTickEndEvent event) {
+        if (tickStart == -1) {
+            return;
+        }
+
+        totalNanos += System.nanoTime() - tickStart;
+        measuredTicks++;
+
+        if (measuredTicks < EVALUATION_INTERVAL) {
+            return;
+        }
+
+        averageMspt = totalNanos / 1_000_000D / measuredTicks;
+        totalNanos = 0;
+        measuredTicks = 0;
+
+        evaluate();
+    }
+
+    private int getMaxLevel() {
+        int maxLevel = 0;
+        for (Game<?, ?> game : plugin.getGameManager().getGames()) {
+            maxLevel = Math.max(maxLevel, game.getNumberOfDegradationSteps());
+        }
+        return maxLevel;
+    }
+
+    private void evaluate() {
+        int newLevel = level;
+        if (averageMspt > DEGRADE_MSPT) {
+            newLevel = Math.min(level + 1, getMaxLevel());
+        } else if (averageMspt < RECOVER_MSPT) {
+            newLevel = Math.max(level - 1, 0);
+        }
+
+        if (newLevel > level) {
+            plugin.getSLF4JLogger().warn("The server is overloaded (%.1f mspt), raising the degradation level to %d".formatted(averageMspt, newLevel));
+        } else if (newLevel < level) {
+            plugin.getSLF4JLogger().info("The server is recovering (%.1f mspt), lowering the degradation level to %d".formatted(averageMspt, newLevel));
+        }
+        level = newLevel;
+
+        // Also applied if the level didn't change so that games created in the meantime catch up
+        for (Game<?, ?> game : plugin.getGameManager().getGames()) {
+            game.setDegradationLevel(level);
+        }
+    }
+
+    public double getAverageMspt() {
+        return averageMspt;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.lama06.llamagames;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockDropItemEvent;
+import org.bukkit.event.entity.*;
+import org.bukkit.event.inventory.InventoryPickupItemEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * The entities that a game spawned or that its players caused, such as dropped items, projectiles and built golems.
+ * They can be removed without searching the whole world, which may also contain a lobby. Entities are tracked by their
+ * UUID because an entity in a chunk that is unloaded and loaded again is a new object. Entities that can't be found when
+ * they are removed are removed as soon as their chunk is loaded again. An entity is only forgotten when it is really gone,
+ * for example because it died or was picked up.
+ */
+public class OwnedEntities implements Listener {
+    private final LlamaGamesPlugin plugin;
+    private final Game<?, ?> game;
+    private final Set<UUID> entities = new HashSet<>();
+    private final Set<UUID> entitiesToRemoveWhenLoaded = new HashSet<>();
+
+    public OwnedEntities(LlamaGamesPlugin plugin, Game<?, ?> game) {
+        this.plugin = plugin;
+        this.game = game;
+    }
+
+    public void registerEvents() {
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    public void unregisterEvents() {
+        HandlerList.unregisterAll(this);
+    }
+
+    public <T extends Entity> T add(T entity) {
+        entities.add(entity.getUniqueId());
+        return entity;
+    }
+
+    public <T extends Entity> T spawn(Location location, Class<T> type) {
+        return add(location.getWorld().spawn(location, type));
+    }
+
+    public <T extends Entity> T spawn(Location location, Class<T> type, Consumer<T> function) {
+        return add(location.getWorld().spawn(location, type, function::accept));
+    }
+
+    public <T extends Entity> List<T> getEntities(Class<T> type) {
+        List<T> result = new ArrayList<>();
+        for (UUID uuid : entities) {
+            Entity entity = Bukkit.getEntity(uuid);
+            if (type.isInstance(entity)) {
+                result.add(type.cast(entity));
+            }
+        }
+        return result;
+    }
+
+    public void removeAll() {
+        for (UUID uuid : entities) {
+            Entity entity = Bukkit.getEntity(uuid);
+            if (entity != null) {
+                entity.remove();
+            } else {
+                // The chunk of the entity isn't loaded or the entity disappeared in a way that isn't tracked
+                entitiesToRemoveWhenLoaded.add(uuid);
+            }
+        }
+        entities.clear();
+    }
+
+    public int size() {
+        return entities.size();
+    }
+
+    private boolean isPlaying(Player player) {
+        return game.isRunning() && game.getPlayers().contains(player);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void trackDroppedItems(PlayerDropItemEvent event) {
+        if (isPlaying(event.getPlayer())) {
+            add(event.getItemDrop());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void trackBlockDrops(BlockDropItemEvent event) {
+        if (isPlaying(event.getPlayer())) {
+            for (Item item : event.getItems()) {
+                add(item);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void trackProjectiles(ProjectileLaunchEvent event) {
+        if (event.getEntity().getShooter() instanceof Player player && isPlaying(player)) {
+            add(event.getEntity());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void trackBuiltCreatures(CreatureSpawnEvent event) {
+        if (!game.isRunning() || !event.getEntity().getWorld().equals(game.getWorld())) {
+            return;
+        }
+
+        switch (event.getSpawnReason()) {
+            case BUILD_IRONGOLEM, BUILD_SNOWMAN, BUILD_WITHER -> add(event.getEntity());
+        }
+    }
+
+    @EventHandler
+    public void removeLoadedEntities(EntitiesLoadEvent event) {
+        if (entitiesToRemoveWhenLoaded.isEmpty()) {
+            return;
+        }
+
+        for (Entity entity : event.getEntities()) {
+            if (entitiesToRemoveWhenLoaded.remove(entity.getUniqueId())) {
+                entity.remove();
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void forgetDeadEntities(EntityDeathEvent event) {
+        entities.remove(event.getEntity().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void forgetExplodedEntities(EntityExplodeEvent event) {
+        entities.remove(event.getEntity().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void forgetPickedUpItems(EntityPickupItemEvent event) {
+        entities.remove(event.getItem().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void forgetItemsPickedUpByHoppers(InventoryPickupItemEvent event) {
+        entities.remove(event.getItem().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void forgetMergedItems(ItemMergeEvent event) {
+        entities.remove(event.getEntity().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void forgetDespawnedItems(ItemDespawnEvent event) {
+        entities.remove(event.getEntity().getUniqueId());
+    }
+}
@@ -11,6 +11,8 @@ public class BlockPartyCommand extends GameCommand {
     public BlockPartyCommand(LlamaGamesPlugin plugin) {
         super(plugin, "blockparty");
 
+        addDeadlyBlockDetectionSubCommands();
+
         addSubCommand("floor", createBlockAreaConfigSubCommand(
                 plugin,
                 BlockPartyGame.class,
@@ -27,6 +29,14 @@ public class BlockPartyCommand extends GameCommand {
                 material -> Component.text("The deadly block is now set to ").append(Component.translatable(material))
         ));
 
+        addSubCommand("floorBlocksPerTick", createIntegerConfigSubCommand(
+                plugin,
+                BlockPartyGame.class,
+                config -> Component.text("At most %d floor blocks are placed per tick".formatted(config.getFloorBlocksPerTick())),
+                (config, blocks) -> config.setFloorBlocksPerTick(Math.max(1, blocks)),
+                blocks -> Component.text("At most %d floor blocks will now be placed per tick".formatted(Math.max(1, blocks)))
+        ));
+
         addSubCommand("floors", createCollectionConfigSubCommand(
                 plugin,
                 BlockPartyGame.class,
@@ -29,6 +29,7 @@ public class BlockPartyConfig extends GameConfig {
     private Set<Floor> floors = new HashSet<>();
     private Map<Integer, Integer> roundTimes = DEFAULT_ROUND_TIMES;
     private Material deadlyBlock;
+    private int floorBlocksPerTick = 4096;
 
     @GsonConstructor
     public BlockPartyConfig() { }
@@ -73,4 +74,12 @@ public class BlockPartyConfig extends GameConfig {
     public void setDeadlyBlock(Material deadlyBlock) {
         this.deadlyBlock = deadlyBlock;
     }
+
+    public int getFloorBlocksPerTick() {
+        return floorBlocksPerTick;
+    }
+
+    public void setFloorBlocksPerTick(int floorBlocksPerTick) {
+        this.floorBlocksPerTick = floorBlocksPerTick;
+    }
 }
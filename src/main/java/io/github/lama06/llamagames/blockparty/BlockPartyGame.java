@@ -1,8 +1,10 @@
 package io.github.lama06.llamagames.blockparty;
 
+import io.github.lama06.llamagames.DegradationStep;
 import io.github.lama06.llamagames.Game;
 import io.github.lama06.llamagames.GameType;
 import io.github.lama06.llamagames.LlamaGamesPlugin;
+import io.github.lama06.llamagames.util.BlockArea;
 import io.github.lama06.llamagames.util.BlockPosition;
 import io.github.lama06.llamagames.util.CollectionUtil;
 import io.github.lama06.llamagames.util.MinecraftColor;
@@ -12,18 +14,23 @@ import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 public class BlockPartyGame extends Game<BlockPartyGame, BlockPartyConfig> {
+    private static final int DEGRADED_FLOOR_APPLY_SLOWDOWN = 4;
+
     private int currentRound;
     private Set<Floor> remainingFloors = new HashSet<>();
     private BukkitTask currentTask;
+    private boolean floorApplySlowedDown = false;
 
     public BlockPartyGame(LlamaGamesPlugin plugin, World world, BlockPartyConfig config, GameType<BlockPartyGame, BlockPartyConfig> type) {
         super(plugin, world, config, type);
@@ -57,17 +64,24 @@ public class BlockPartyGame extends Game<BlockPartyGame, BlockPartyConfig> {
         return numberOfPlayers >= 1;
     }
 
-    @EventHandler
-    private void killPlayersThatTouchDeadlyBlocks(PlayerMoveEvent event) {
-        if (!running || !getPlayers().contains(event.getPlayer())) {
-            return;
-        }
+    @Override
+    protected Material getDeadlyBlock() {
+        return config.getDeadlyBlock();
+    }
 
-        if (event.getTo().clone().add(0, -1, 0).getBlock().getType() != config.getDeadlyBlock()) {
-            return;
-        }
+    @Override
+    protected Collection<BlockArea> getArenaAreas() {
+        return List.of(config.getFloor());
+    }
 
-        setSpectator(event.getPlayer(), true);
+    @Override
+    protected void handlePlayerTouchedDeadlyBlock(Player player) {
+        setSpectator(player, true);
+    }
+
+    @Override
+    protected List<DegradationStep> getDegradationSteps() {
+        return List.of(new DegradationStep("Apply floors more slowly", () -> floorApplySlowedDown = true, () -> floorApplySlowedDown = false));
     }
 
     private Floor getNextFloor() {
@@ -113,15 +127,19 @@ public class BlockPartyGame extends Game<BlockPartyGame, BlockPartyConfig> {
                 block.setType(Material.AIR);
             }
         }
+
+        invalidateArenaSnapshot();
     }
 
     private void startRound(int round) {
         this.currentRound = round;
 
-        int roundTime = getRoundTime(round);
-
         Floor floor = getNextFloor();
-        setFloor(floor);
+        currentTask = new FloorApplier(floor, () -> startRoundTimer(round, floor)).runTaskTimer(plugin, 0, 1);
+    }
+
+    private void startRoundTimer(int round, Floor floor) {
+        int roundTime = getRoundTime(round);
 
         Material type = CollectionUtil.pickRandomElement(getBlockTypes(floor));
         MinecraftColor color = MinecraftColor.getColorOfMaterial(type);
@@ -150,11 +168,59 @@ public class BlockPartyGame extends Game<BlockPartyGame, BlockPartyConfig> {
         startRound(currentRound + 1);
     }
 
-    private void setFloor(Floor floor) {
-        floor.getArea().clone(world, config.getFloor());
+    private int getFloorBlocksPerTick() {
+        int blocksPerTick = Math.max(1, config.getFloorBlocksPerTick());
+        return floorApplySlowedDown ? Math.max(1, blocksPerTick / DEGRADED_FLOOR_APPLY_SLOWDOWN) : blocksPerTick;
+    }
+
+    /**
+     * Copies a floor into the arena, at most {@link BlockPartyConfig#getFloorBlocksPerTick()} blocks per tick
+     */
+    private class FloorApplier extends BukkitRunnable {
+        private final BlockPosition source;
+        private final BlockPosition destination;
+        private final int sizeX;
+        private final int sizeY;
+        private final int sizeZ;
+        private final Runnable callback;
+        private int nextBlock = 0;
+
+        private FloorApplier(Floor floor, Runnable callback) {
+            BlockArea area = floor.getArea();
+            source = area.getLowerCorner();
+            destination = config.getFloor().getLowerCorner();
+            sizeX = area.getUpperX() - area.getLowerX() + 1;
+            sizeY = area.getUpperY() - area.getLowerY() + 1;
+            // Floors with other dimensions than the arena are not copied, like in BlockArea#clone
+            sizeZ = area.hasSameDimensions(config.getFloor()) ? area.getUpperZ() - area.getLowerZ() + 1 : 0;
+            this.callback = callback;
+        }
+
+        @Override
+        public void run() {
+            int numberOfBlocks = sizeX * sizeY * sizeZ;
+            int end = Math.min(nextBlock + getFloorBlocksPerTick(), numberOfBlocks);
+
+            for (; nextBlock < end; nextBlock++) {
+                int x = nextBlock % sizeX;
+                int y = nextBlock / sizeX % sizeY;
+                int z = nextBlock / sizeX / sizeY;
+
+                world.getBlockAt(destination.getX() + x, destination.getY() + y, destination.getZ() + z)
+                        .setBlockData(world.getBlockData(source.getX() + x, source.getY() + y, source.getZ() + z));
+            }
+
+            invalidateArenaSnapshot();
+
+            if (nextBlock == numberOfBlocks) {
+                cancel();
+                callback.run();
+            }
+        }
     }
 
     private void clearFloor() {
         config.getFloor().fill(world, Material.AIR.createBlockData());
+        invalidateArenaSnapshot();
     }
 }
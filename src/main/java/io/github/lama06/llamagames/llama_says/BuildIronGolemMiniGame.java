@@ -5,7 +5,6 @@ import net.kyori.adventure.text.Component;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
-import org.bukkit.entity.IronGolem;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.block.BlockPlaceEvent;
@@ -49,10 +48,6 @@ public class BuildIronGolemMiniGame extends MiniGame {
         for (BlockPosition block : blocks) {
             game.getWorld().getBlockAt(block.asLocation(game.getWorld())).setBlockData(Material.AIR.createBlockData());
         }
-
-        for (IronGolem ironGolem : game.getWorld().getEntitiesByClass(IronGolem.class)) {
-            ironGolem.remove();
-        }
     }
 
     @EventHandler
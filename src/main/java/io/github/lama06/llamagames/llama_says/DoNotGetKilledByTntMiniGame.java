@@ -24,13 +24,6 @@ public class DoNotGetKilledByTntMiniGame extends MiniGame {
         task.cancel();
     }
 
-    @Override
-    public void cleanupWorld() {
-        for (TNTPrimed tnt : game.getWorld().getEntitiesByClass(TNTPrimed.class)) {
-            tnt.remove();
-        }
-    }
-
     @Override
     public Component getTitle() {
         return Component.text("Don't get killed by the TNT");
@@ -47,7 +40,7 @@ public class DoNotGetKilledByTntMiniGame extends MiniGame {
 
     private void spawnTnt() {
         BlockPosition position = game.getConfig().getFloor().pickRandomBlock(game.getRandom());
-        game.getWorld().spawn(position.asLocation(game.getWorld()).add(0, 10, 0), TNTPrimed.class, tnt -> tnt.setFuseTicks(80));
+        game.getOwnedEntities().spawn(position.asLocation(game.getWorld()).add(0, 10, 0), TNTPrimed.class, tnt -> tnt.setFuseTicks(80));
     }
 
     @EventHandler(ignoreCancelled = true)
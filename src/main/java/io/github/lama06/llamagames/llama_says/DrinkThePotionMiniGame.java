@@ -20,35 +20,40 @@ public class DrinkThePotionMiniGame extends MiniGame {
     private static final List<PotionType> POTION_TYPES_WITH_EFFECT = Arrays.stream(PotionType.values()).filter(p -> p.getEffectType() != null).collect(Collectors.toList());
 
     private PotionType potionType;
+    private ItemStack potion;
+    private int hotbarSlot;
+    private List<ItemStack> wrongPotions;
 
     public DrinkThePotionMiniGame(LlamaSaysGame game, Consumer<MiniGame> callback) {
         super(game, new RankedResult(game), callback);
     }
 
+    private static ItemStack createPotion(PotionType type) {
+        ItemStack potion = new ItemStack(Material.POTION);
+        potion.editMeta(PotionMeta.class, meta -> meta.setBasePotionData(new PotionData(type)));
+        return potion;
+    }
+
     @Override
     public void init() {
         potionType = POTION_TYPES_WITH_EFFECT.get(game.getRandom().nextInt(POTION_TYPES_WITH_EFFECT.size()));
+        potion = createPotion(potionType);
+        hotbarSlot = game.getRandom().nextInt(9);
+
+        // The inventory copies the items, so one item per potion type is enough
+        wrongPotions = POTION_TYPES_WITH_EFFECT.stream()
+                .filter(p -> p != potionType)
+                .map(DrinkThePotionMiniGame::createPotion)
+                .collect(Collectors.toList());
     }
 
     @Override
     public Component getTitle() {
-        ItemStack potion = new ItemStack(Material.POTION);
-        potion.editMeta(PotionMeta.class, meta -> meta.setBasePotionData(new PotionData(potionType)));
-
         return Component.text("Drink the potion: ").append(Component.translatable(potion));
     }
 
     @Override
     public void handleGameStarted() {
-        ItemStack potion = new ItemStack(Material.POTION);
-        PotionMeta meta = (PotionMeta) potion.getItemMeta();
-        meta.setBasePotionData(new PotionData(potionType));
-        potion.setItemMeta(meta);
-
-        int hotbarSlot = game.getRandom().nextInt(9);
-
-        List<PotionType> possibleWrongPotionTypes = POTION_TYPES_WITH_EFFECT.stream().filter(p -> p != potionType).collect(Collectors.toList());
-
         for (Player player : game.getPlayers()) {
             for (int i = 0; i <= 8; i++) {
                 if (i == hotbarSlot) {
@@ -56,14 +61,7 @@ public class DrinkThePotionMiniGame extends MiniGame {
                     continue;
                 }
 
-                PotionType wrongPotionType = possibleWrongPotionTypes.get(game.getRandom().nextInt(possibleWrongPotionTypes.size()));
-
-                ItemStack wrongPotion = new ItemStack(Material.POTION);
-                PotionMeta wrongPotionMeta = (PotionMeta) wrongPotion.getItemMeta();
-                wrongPotionMeta.setBasePotionData(new PotionData(wrongPotionType));
-                wrongPotion.setItemMeta(wrongPotionMeta);
-
-                player.getInventory().setItem(i, wrongPotion);
+                player.getInventory().setItem(i, wrongPotions.get(game.getRandom().nextInt(wrongPotions.size())));
             }
         }
 
@@ -44,7 +44,7 @@ public class FeedAnimalMiniGame extends MiniGame {
 
     @Override
     public void handleGameStarted() {
-        entity = game.getWorld().spawnEntity(game.getConfig().getFloorCenter().asLocation(game.getWorld()).add(0, 1, 0), entityType);
+        entity = game.getOwnedEntities().add(game.getWorld().spawnEntity(game.getConfig().getFloorCenter().asLocation(game.getWorld()).add(0, 1, 0), entityType));
 
         List<Material> foodItems = CollectionUtil.pickRandomElements(ENTITY_TYPES_TO_FOOD.values(), 9, game.getRandom());
 
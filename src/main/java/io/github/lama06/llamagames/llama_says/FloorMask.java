@@ -0,0 +1,225 @@
+package io.github.lama06.llamagames.llama_says;
+
+import io.github.lama06.llamagames.util.BlockArea;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * One bit for every block of the floor, so that mini games can keep the state of the floor in memory instead of reading
+ * it from the world. Blocks are indexed by their offset from the lower corner of the floor.
+ */
+public class FloorMask {
+    private final int lowerX;
+    private final int lowerY;
+    private final int lowerZ;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final BitSet bits;
+
+    public FloorMask(BlockArea floor) {
+        lowerX = floor.getLowerX();
+        lowerY = floor.getLowerY();
+        lowerZ = floor.getLowerZ();
+        sizeX = floor.getUpperX() - lowerX + 1;
+        sizeY = floor.getUpperY() - lowerY + 1;
+        sizeZ = floor.getUpperZ() - lowerZ + 1;
+        bits = new BitSet(size());
+    }
+
+    private FloorMask(FloorMask other) {
+        lowerX = other.lowerX;
+        lowerY = other.lowerY;
+        lowerZ = other.lowerZ;
+        sizeX = other.sizeX;
+        sizeY = other.sizeY;
+        sizeZ = other.sizeZ;
+        bits = (BitSet) other.bits.clone();
+    }
+
+    public FloorMask copy() {
+        return new FloorMask(this);
+    }
+
+    /**
+     * Returns the number of blocks of the floor
+     */
+    public int size() {
+        return sizeX * sizeY * sizeZ;
+    }
+
+    /**
+     * Returns the number of set blocks
+     */
+    public int cardinality() {
+        return bits.cardinality();
+    }
+
+    /**
+     * Returns the index of the block or -1 if the block isn't part of the floor
+     */
+    public int getIndex(int x, int y, int z) {
+        int offsetX = x - lowerX;
+        int offsetY = y - lowerY;
+        int offsetZ = z - lowerZ;
+        if (offsetX < 0 || offsetX >= sizeX || offsetY < 0 || offsetY >= sizeY || offsetZ < 0 || offsetZ >= sizeZ) {
+            return -1;
+        }
+        return (offsetX * sizeY + offsetY) * sizeZ + offsetZ;
+    }
+
+    /**
+     * Returns the index of the block at the location or -1 if the block isn't part of the floor
+     */
+    public int getIndex(Location location) {
+        return getIndex(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public int getX(int index) {
+        return lowerX + index / (sizeY * sizeZ);
+    }
+
+    public int getY(int index) {
+        return lowerY + index / sizeZ % sizeY;
+    }
+
+    public int getZ(int index) {
+        return lowerZ + index % sizeZ;
+    }
+
+    public boolean get(int index) {
+        return bits.get(index);
+    }
+
+    public void set(int index, boolean value) {
+        bits.set(index, value);
+    }
+
+    public void clear() {
+        bits.clear();
+    }
+
+    /**
+     * Sets randomly chosen blocks that are not set yet
+     *
+     * @param amount the number of blocks to set; limited to the number of blocks that are not set
+     * @return a mask that only contains the blocks set by this method
+     */
+    public FloorMask setRandom(int amount, Random random) {
+        int size = size();
+        int[] candidates = new int[size - cardinality()];
+        int numberOfCandidates = 0;
+        for (int index = bits.nextClearBit(0); index < size; index = bits.nextClearBit(index + 1)) {
+            candidates[numberOfCandidates++] = index;
+        }
+
+        FloorMask added = copy();
+        added.clear();
+
+        amount = Math.min(amount, numberOfCandidates);
+        // Partial Fisher-Yates shuffle: the first amount candidates end up being a random selection
+        for (int i = 0; i < amount; i++) {
+            int j = i + random.nextInt(numberOfCandidates - i);
+            int candidate = candidates[j];
+            candidates[j] = candidates[i];
+            candidates[i] = candidate;
+
+            bits.set(candidate);
+            added.bits.set(candidate);
+        }
+
+        return added;
+    }
+
+    /**
+     * Clears the mask and then sets the ratio of all blocks randomly
+     */
+    public void fillRandom(double ratio, Random random) {
+        clear();
+        setRandom((int) (size() * ratio), random);
+    }
+
+    public void and(FloorMask other) {
+        bits.and(other.bits);
+    }
+
+    public void or(FloorMask other) {
+        bits.or(other.bits);
+    }
+
+    public void andNot(FloorMask other) {
+        bits.andNot(other.bits);
+    }
+
+    public void invert() {
+        bits.flip(0, size());
+    }
+
+    /**
+     * Places blocks in the world
+     *
+     * @param set   placed where the mask is set; null to leave these blocks unchanged
+     * @param clear placed where the mask is not set; null to leave these blocks unchanged
+     */
+    public void apply(World world, BlockData set, BlockData clear) {
+        int size = size();
+
+        if (set != null) {
+            for (int index = bits.nextSetBit(0); index >= 0; index = bits.nextSetBit(index + 1)) {
+                world.getBlockAt(getX(index), getY(index), getZ(index)).setBlockData(set);
+            }
+        }
+
+        if (clear != null) {
+            for (int index = bits.nextClearBit(0); index < size; index = bits.nextClearBit(index + 1)) {
+                world.getBlockAt(getX(index), getY(index), getZ(index)).setBlockData(clear);
+            }
+        }
+    }
+
+    /**
+     * Like {@link #apply(World, BlockData, BlockData)}, but places at most the given number of blocks per tick,
+     * starting with the next tick. Later changes to the mask affect the blocks that haven't been placed yet.
+     */
+    public BukkitTask applyGradually(Plugin plugin, World world, BlockData set, BlockData clear, int blocksPerTick) {
+        return new Applier(world, set, clear, Math.max(1, blocksPerTick)).runTaskTimer(plugin, 0, 1);
+    }
+
+    private class Applier extends BukkitRunnable {
+        private final World world;
+        private final BlockData set;
+        private final BlockData clear;
+        private final int blocksPerTick;
+        private int nextBlock = 0;
+
+        private Applier(World world, BlockData set, BlockData clear, int blocksPerTick) {
+            this.world = world;
+            this.set = set;
+            this.clear = clear;
+            this.blocksPerTick = blocksPerTick;
+        }
+
+        @Override
+        public void run() {
+            int end = Math.min(nextBlock + blocksPerTick, size());
+
+            for (; nextBlock < end; nextBlock++) {
+                BlockData data = bits.get(nextBlock) ? set : clear;
+                if (data != null) {
+                    world.getBlockAt(getX(nextBlock), getY(nextBlock), getZ(nextBlock)).setBlockData(data);
+                }
+            }
+
+            if (nextBlock == size()) {
+                cancel();
+            }
+        }
+    }
+}
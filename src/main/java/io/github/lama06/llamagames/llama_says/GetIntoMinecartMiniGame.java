@@ -2,7 +2,6 @@ package io.github.lama06.llamagames.llama_says;
 
 import io.github.lama06.llamagames.util.BlockPosition;
 import net.kyori.adventure.text.Component;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.minecart.RideableMinecart;
 import org.bukkit.event.EventHandler;
@@ -28,14 +27,7 @@ public class GetIntoMinecartMiniGame extends MiniGame {
         List<BlockPosition> positions = game.getConfig().getFloor().pickRandomBlocks(numberOfMinecarts, game.getRandom());
 
         for (BlockPosition position : positions) {
-            game.getWorld().spawnEntity(position.asLocation(game.getWorld()).add(0, 1, 0), EntityType.MINECART);
-        }
-    }
-
-    @Override
-    public void cleanupWorld() {
-        for (RideableMinecart minecart : game.getWorld().getEntitiesByClass(RideableMinecart.class)) {
-            minecart.remove();
+            game.getOwnedEntities().spawn(position.asLocation(game.getWorld()).add(0, 1, 0), RideableMinecart.class);
         }
     }
 
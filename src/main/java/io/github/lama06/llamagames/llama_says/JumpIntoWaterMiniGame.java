@@ -2,20 +2,20 @@ package io.github.lama06.llamagames.llama_says;
 
 import io.github.lama06.llamagames.util.BlockArea;
 import io.github.lama06.llamagames.util.BlockPosition;
-import io.github.lama06.llamagames.util.CollectionUtil;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Material;
-import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.scheduler.BukkitTask;
 
-import java.util.List;
-import java.util.Set;
 import java.util.function.Consumer;
 
 public class JumpIntoWaterMiniGame extends MiniGame {
+    private FloorMask water;
+    private BukkitTask floorTask;
+
     public JumpIntoWaterMiniGame(LlamaSaysGame game, Consumer<MiniGame> callback) {
         super(game, new RankedResult(game), callback);
     }
@@ -26,20 +26,21 @@ public class JumpIntoWaterMiniGame extends MiniGame {
     }
 
     @Override
-    public void handleGameStarted() {
-        Set<BlockPosition> blocks = game.getConfig().getFloor().getBlocks();
-        int amountOfWater = blocks.size() / 3;
-        List<BlockPosition> waterBlocks = CollectionUtil.pickRandomElements(blocks, amountOfWater, game.getRandom());
-
-        for (BlockPosition position : blocks) {
-            Block block = game.getWorld().getBlockAt(position.asLocation(game.getWorld()));
+    public void init() {
+        water = new FloorMask(game.getConfig().getFloor());
+        water.setRandom(water.size() / 3, game.getRandom());
+    }
 
-            if (waterBlocks.contains(position)) {
-                block.setBlockData(Material.WATER.createBlockData());
-            } else {
-                block.setBlockData(Material.BLUE_CONCRETE.createBlockData());
-            }
-        }
+    @Override
+    public void handleGameStarted() {
+        // The players wait on the platform while the floor is placed
+        floorTask = water.applyGradually(
+                game.getPlugin(),
+                game.getWorld(),
+                Material.WATER.createBlockData(),
+                Material.BLUE_CONCRETE.createBlockData(),
+                game.getConfig().getFloorBlocksPerTick()
+        );
 
         fillPlatformBlocks(Material.ORANGE_STAINED_GLASS.createBlockData());
 
@@ -70,14 +71,15 @@ public class JumpIntoWaterMiniGame extends MiniGame {
             result.addSuccessfulPlayer(event.getPlayer());
         }
 
-        Block under = event.getTo().clone().add(0, -1, 0).getBlock();
-        if (under.getType() == Material.BLUE_CONCRETE) {
+        int under = water.getIndex(event.getTo().clone().add(0, -1, 0));
+        if (under != -1 && !water.get(under)) {
             result.addFailedPlayer(event.getPlayer());
         }
     }
 
     @Override
     public void cleanupWorld() {
+        floorTask.cancel();
         fillPlatformBlocks(Material.AIR.createBlockData());
     }
 }
@@ -40,5 +40,13 @@ public class LlamaSaysCommand extends GameCommand {
                 LlamaSaysConfig::setFloorMaterial,
                 material -> Component.text("The floor is now made of ").append(Component.translatable(material))
         ));
+
+        addSubCommand("floorBlocksPerTick", createIntegerConfigSubCommand(
+                plugin,
+                LlamaSaysGame.class,
+                config -> Component.text("At most %d floor blocks are placed per tick".formatted(config.getFloorBlocksPerTick())),
+                (config, blocks) -> config.setFloorBlocksPerTick(Math.max(1, blocks)),
+                blocks -> Component.text("At most %d floor blocks will now be placed per tick".formatted(Math.max(1, blocks)))
+        ));
     }
 }
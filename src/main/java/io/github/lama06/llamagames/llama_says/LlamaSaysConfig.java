@@ -11,6 +11,7 @@ public class LlamaSaysConfig extends GameConfig {
     private BlockArea floor = null;
     private BlockPosition floorCenter = null;
     private Material floorMaterial;
+    private int floorBlocksPerTick = 4096;
 
     @GsonConstructor
     public LlamaSaysConfig() { }
@@ -61,4 +62,12 @@ public class LlamaSaysConfig extends GameConfig {
     public void setFloorMaterial(Material floorMaterial) {
         this.floorMaterial = floorMaterial;
     }
+
+    public int getFloorBlocksPerTick() {
+        return floorBlocksPerTick;
+    }
+
+    public void setFloorBlocksPerTick(int floorBlocksPerTick) {
+        this.floorBlocksPerTick = floorBlocksPerTick;
+    }
 }
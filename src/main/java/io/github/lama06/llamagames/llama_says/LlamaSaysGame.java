@@ -6,22 +6,45 @@ import io.github.lama06.llamagames.LlamaGamesPlugin;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.List;
 
 public class LlamaSaysGame extends Game<LlamaSaysGame, LlamaSaysConfig> {
+    /**
+     * The next mini game is prepared this many ticks after the current one started, so that the work doesn't happen in
+     * the tick in which the rounds are switched
+     */
+    private static final int PREPARE_NEXT_MINI_GAME_DELAY = 20;
+
     private int remainingRounds;
     private List<MiniGameType<?>> remainingGameTypes;
     private MiniGame currentMiniGame;
+    private MiniGameType<?> currentMiniGameType;
+    private MiniGame nextMiniGame;
+    private MiniGameType<?> nextMiniGameType;
+    private BukkitTask prepareNextMiniGameTask;
+    private final MiniGameEventDispatcher eventDispatcher = new MiniGameEventDispatcher(this);
     private Map<UUID, Integer> points;
 
     public LlamaSaysGame(LlamaGamesPlugin plugin, World world, LlamaSaysConfig config, GameType<LlamaSaysGame, LlamaSaysConfig> type) {
         super(plugin, world, config, type);
     }
 
+    @Override
+    public void handleGameLoaded() {
+        eventDispatcher.registerEvents();
+    }
+
+    @Override
+    public void handleGameUnloaded() {
+        eventDispatcher.unregisterEvents();
+    }
+
     @Override
     public void handleGameStarted(String[] args) {
         MiniGameType<?> type = null;
@@ -50,19 +73,57 @@ public class LlamaSaysGame extends Game<LlamaSaysGame, LlamaSaysConfig> {
         }
     }
 
+    private MiniGameType<?> pickNextMiniGameType() {
+        if (remainingGameTypes.isEmpty()) {
+            return MiniGameType.getTypes().get(random.nextInt(MiniGameType.getTypes().size()));
+        }
+
+        MiniGameType<?> type = remainingGameTypes.get(random.nextInt(remainingGameTypes.size()));
+        remainingGameTypes.remove(type);
+        return type;
+    }
+
+    /**
+     * Chooses the mini game of the next round and calls its {@link MiniGame#init()} while the current round is running
+     */
+    private void prepareNextMiniGame() {
+        prepareNextMiniGameTask = null;
+
+        if (!running || remainingRounds == 0 || nextMiniGame != null) {
+            return;
+        }
+
+        nextMiniGameType = pickNextMiniGameType();
+        nextMiniGame = createMiniGame(nextMiniGameType);
+        nextMiniGame.prepare();
+    }
+
     private void startNextRound(MiniGameType<?> type) {
         remainingRounds--;
 
-        if (type == null) {
-            if (remainingGameTypes.isEmpty()) {
-                type = MiniGameType.getTypes().get(random.nextInt(MiniGameType.getTypes().size()));
-            } else {
-                type = remainingGameTypes.get(random.nextInt(remainingGameTypes.size()));
-                remainingGameTypes.remove(type);
+        if (type == null && nextMiniGame != null) {
+            currentMiniGameType = nextMiniGameType;
+            currentMiniGame = nextMiniGame;
+        } else {
+            if (type == null) {
+                type = pickNextMiniGameType();
             }
+
+            currentMiniGameType = type;
+            currentMiniGame = createMiniGame(type);
+        }
+        nextMiniGame = null;
+        nextMiniGameType = null;
+
+        currentMiniGame.startGame();
+
+        if (running && remainingRounds != 0) {
+            prepareNextMiniGameTask = Bukkit.getScheduler().runTaskLater(plugin, this::prepareNextMiniGame, PREPARE_NEXT_MINI_GAME_DELAY);
         }
+    }
 
-        currentMiniGame = type.getCreator().createMiniGame(this, game -> {
+    private MiniGame createMiniGame(MiniGameType<?> type) {
+        return type.getCreator().createMiniGame(this, game -> {
             canceler.disallowAll();
 
             MiniGameResult result = game.getResult();
@@ -79,15 +140,21 @@ public class LlamaSaysGame extends Game<LlamaSaysGame, LlamaSaysConfig> {
                 startNextRound(null);
             }
         });
-
-        currentMiniGame.startGame();
     }
 
     @Override
     public void handleGameEnded(GameEndReason reason) {
+        if (prepareNextMiniGameTask != null) {
+            prepareNextMiniGameTask.cancel();
+            prepareNextMiniGameTask = null;
+        }
+        nextMiniGame = null;
+        nextMiniGameType = null;
+
         if (currentMiniGame != null) {
             currentMiniGame.endGame(false);
             currentMiniGame = null;
+            currentMiniGameType = null;
         }
 
         TextComponent.Builder builder = Component.text();
@@ -115,4 +182,8 @@ public class LlamaSaysGame extends Game<LlamaSaysGame, LlamaSaysConfig> {
     public MiniGame getCurrentMiniGame() {
         return currentMiniGame;
     }
+
+    public MiniGameType<?> getCurrentMiniGameType() {
+        return currentMiniGameType;
+    }
 }
@@ -6,7 +6,6 @@ import net.kyori.adventure.title.Title;
 import org.bukkit.Bukkit;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.entity.Player;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.scheduler.BukkitTask;
@@ -19,6 +18,8 @@ public abstract class MiniGame implements Listener {
     protected final MiniGameResult result;
     private final Consumer<MiniGame> callback;
     private BukkitTask timeoutTask;
+    private boolean active = false;
+    private boolean prepared = false;
 
     public MiniGame(LlamaSaysGame game, MiniGameResult result, Consumer<MiniGame> callback) {
         this.game = game;
@@ -32,6 +33,10 @@ public abstract class MiniGame implements Listener {
         return 200;
     }
 
+    /**
+     * Chooses the random parts of the mini game and creates everything it needs. May be called while the previous mini
+     * game is still running, so it must not change the world or the players.
+     */
     public void init() { }
 
     public void handleGameStarted() { }
@@ -62,6 +67,8 @@ public abstract class MiniGame implements Listener {
     private void cleanupWorldInternal() {
         game.getConfig().getFloor().fill(game.getWorld(), game.getConfig().getFloorMaterial().createBlockData());
 
+        game.getOwnedEntities().removeAll();
+
         cleanupWorld();
     }
 
@@ -69,8 +76,20 @@ public abstract class MiniGame implements Listener {
         cleanupPlayerInternal(player);
     }
 
-    public final void startGame() {
+    /**
+     * Calls {@link #init()} if it hasn't been called yet
+     */
+    public final void prepare() {
+        if (prepared) {
+            return;
+        }
+
         init();
+        prepared = true;
+    }
+
+    public final void startGame() {
+        prepare();
 
         for (Player player : game.getPlayers()) {
             player.teleport(game.getConfig().getSpawnPoint().asLocation(game.getWorld()));
@@ -93,7 +112,7 @@ public abstract class MiniGame implements Listener {
 
         handleGameStarted();
 
-        Bukkit.getPluginManager().registerEvents(this, game.getPlugin());
+        active = true;
     }
 
     public final void endGame(boolean callCallback) {
@@ -102,7 +121,7 @@ public abstract class MiniGame implements Listener {
             timeoutTask = null;
         }
 
-        HandlerList.unregisterAll(this);
+        active = false;
 
         handleGameEnded();
 
@@ -121,6 +140,13 @@ public abstract class MiniGame implements Listener {
         }
     }
 
+    /**
+     * Returns whether the events are forwarded to this mini game, see {@link MiniGameEventDispatcher}
+     */
+    public boolean isActive() {
+        return active;
+    }
+
     public MiniGameResult getResult() {
         return result;
     }
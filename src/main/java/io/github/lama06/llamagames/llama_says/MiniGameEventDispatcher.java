@@ -0,0 +1,105 @@
+package io.github.lama06.llamagames.llama_says;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.*;
+
+/**
+ * Forwards events to the event handlers of the current mini game of a {@link LlamaSaysGame}. It is registered once when
+ * the game is loaded for every event that any mini game handles, so starting and ending mini games doesn't change
+ * the handler lists of Bukkit.
+ */
+public class MiniGameEventDispatcher implements Listener {
+    private static final List<Route> ROUTES = createRoutes();
+
+    private final LlamaSaysGame game;
+
+    /**
+     * The handlers of all mini game types for one event class, priority and ignoreCancelled flag
+     *
+     * @param handlers the handlers indexed by the {@link MiniGameType#getId() id} of the mini game type
+     */
+    private record Route(
+            Class<? extends Event> eventClass,
+            EventPriority priority,
+            boolean ignoreCancelled,
+            MethodHandle[][] handlers
+    ) { }
+
+    private record RouteKey(Class<? extends Event> eventClass, EventPriority priority, boolean ignoreCancelled) { }
+
+    public MiniGameEventDispatcher(LlamaSaysGame game) {
+        this.game = game;
+    }
+
+    private static List<Route> createRoutes() {
+        List<MiniGameType<?>> types = MiniGameType.getTypes();
+        Map<RouteKey, List<List<MethodHandle>>> handlers = new LinkedHashMap<>();
+
+        for (MiniGameType<?> type : types) {
+            for (MiniGameType.EventHandlerMethod handler : type.getEventHandlers()) {
+                RouteKey key = new RouteKey(handler.eventClass(), handler.priority(), handler.ignoreCancelled());
+                List<List<MethodHandle>> handlersByType = handlers.computeIfAbsent(key, k -> {
+                    List<List<MethodHandle>> list = new ArrayList<>();
+                    for (int i = 0; i < types.size(); i++) {
+                        list.add(new ArrayList<>());
+                    }
+                    return list;
+                });
+                handlersByType.get(type.getId()).add(handler.handle());
+            }
+        }
+
+        List<Route> routes = new ArrayList<>();
+        for (Map.Entry<RouteKey, List<List<MethodHandle>>> entry : handlers.entrySet()) {
+            MethodHandle[][] handlersByType = new MethodHandle[types.size()][];
+            for (int i = 0; i < types.size(); i++) {
+                handlersByType[i] = entry.getValue().get(i).toArray(new MethodHandle[0]);
+            }
+
+            RouteKey key = entry.getKey();
+            routes.add(new Route(key.eventClass(), key.priority(), key.ignoreCancelled(), handlersByType));
+        }
+        return routes;
+    }
+
+    public void registerEvents() {
+        for (Route route : ROUTES) {
+            Bukkit.getPluginManager().registerEvent(
+                    route.eventClass(),
+                    this,
+                    route.priority(),
+                    (listener, event) -> dispatch(route, event),
+                    game.getPlugin(),
+                    route.ignoreCancelled()
+            );
+        }
+    }
+
+    public void unregisterEvents() {
+        HandlerList.unregisterAll(this);
+    }
+
+    private void dispatch(Route route, Event event) throws EventException {
+        MiniGame miniGame = game.getCurrentMiniGame();
+        MiniGameType<?> type = game.getCurrentMiniGameType();
+        if (miniGame == null || type == null || !miniGame.isActive()) {
+            return;
+        }
+
+        // The handler list of an event class also contains the handlers of its subclasses
+        if (!route.eventClass().isInstance(event)) {
+            return;
+        }
+
+        for (MethodHandle handler : route.handlers()[type.getId()]) {
+            try {
+                handler.invokeExact(miniGame, event);
+            } catch (Throwable t) {
+                throw new EventException(t);
+            }
+        }
+    }
+}
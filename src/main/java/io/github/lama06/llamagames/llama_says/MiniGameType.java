@@ -1,6 +1,16 @@
 package io.github.lama06.llamagames.llama_says;
 
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -19,117 +29,203 @@ public final class MiniGameType<T extends MiniGame> {
 
     public static final MiniGameType<DrinkThePotionMiniGame> DRINK_THE_POTION = new MiniGameType<>(
             "drink_the_potion",
+            DrinkThePotionMiniGame.class,
             DrinkThePotionMiniGame::new
     );
 
     public static final MiniGameType<SlapOtherPlayerMiniGame> SLAP_OTHER_PLAYER = new MiniGameType<>(
             "slap_other_player",
+            SlapOtherPlayerMiniGame.class,
             SlapOtherPlayerMiniGame::new
     );
 
     public static final MiniGameType<SmeltMiniGame> SMELT = new MiniGameType<>(
             "smelt",
+            SmeltMiniGame.class,
             SmeltMiniGame::new
     );
 
     public static final MiniGameType<GetIntoMinecartMiniGame> GET_INTO_MINECART = new MiniGameType<>(
             "get_into_minecart",
+            GetIntoMinecartMiniGame.class,
             GetIntoMinecartMiniGame::new
     );
 
     public static final MiniGameType<ThrowTridentMiniGame> THROW_TRIDENT_AT_OTHER_PLAYER = new MiniGameType<>(
             "throw_trident",
+            ThrowTridentMiniGame.class,
             ThrowTridentMiniGame::new
     );
 
     public static final MiniGameType<InsertMusicDiscMiniGame> INSERT_MUSIC_DISC = new MiniGameType<>(
             "insert_music_disc",
+            InsertMusicDiscMiniGame.class,
             InsertMusicDiscMiniGame::new
     );
 
     public static final MiniGameType<WriteToChatMiniGame> WRITE_TO_CHAT = new MiniGameType<>(
             "write_to_chat",
+            WriteToChatMiniGame.class,
             WriteToChatMiniGame::new
     );
 
     public static final MiniGameType<StandStillMiniGame> STAND_STILL = new MiniGameType<>(
             "stand_still",
+            StandStillMiniGame.class,
             StandStillMiniGame::new
     );
 
     public static final MiniGameType<EatUntilYouAreFullMiniGame> EAT_UNTIL_YOU_ARE_FULL = new MiniGameType<>(
             "eat_until_you_are_full",
+            EatUntilYouAreFullMiniGame.class,
             EatUntilYouAreFullMiniGame::new
     );
 
     public static final MiniGameType<ShootYourselfWithAnArrowMiniGame> SHOOT_YOURSELF_WITH_AN_ARROW = new MiniGameType<>(
             "shoot_yourself_with_an_arrow",
+            ShootYourselfWithAnArrowMiniGame.class,
             ShootYourselfWithAnArrowMiniGame::new
     );
 
     public static final MiniGameType<BuildIronGolemMiniGame> BUIlD_IRON_GOLEM = new MiniGameType<>(
             "build_iron_golem",
+            BuildIronGolemMiniGame.class,
             BuildIronGolemMiniGame::new
     );
 
     public static final MiniGameType<FeedAnimalMiniGame> FEED_ANIMAL = new MiniGameType<>(
             "feed_animal",
+            FeedAnimalMiniGame.class,
             FeedAnimalMiniGame::new
     );
 
     public static final MiniGameType<PutOnArmorStandMiniGame> PUT_ON_ARMOR_STAND = new MiniGameType<>(
             "put_on_armor_stand",
+            PutOnArmorStandMiniGame.class,
             PutOnArmorStandMiniGame::new
     );
 
     public static final MiniGameType<RemoveFromInventoryMiniGame> REMOVE_FROM_INVENTORY = new MiniGameType<>(
             "remove_from_inventory",
+            RemoveFromInventoryMiniGame.class,
             RemoveFromInventoryMiniGame::new
     );
 
     public static final MiniGameType<DoNotGetKilledByTntMiniGame> DO_NOT_GET_KILLED_BY_TNT = new MiniGameType<>(
             "avoid_tnt",
+            DoNotGetKilledByTntMiniGame.class,
             DoNotGetKilledByTntMiniGame::new
     );
 
     public static final MiniGameType<DoNotStandOnIceMiniGame> DO_NOT_STAND_ON_ICE = new MiniGameType<>(
             "do_not_stand_on_ice",
+            DoNotStandOnIceMiniGame.class,
             DoNotStandOnIceMiniGame::new
     );
 
     public static final MiniGameType<JumpIntoWaterMiniGame> JUMP_INTO_WATER = new MiniGameType<>(
             "jump_into_water",
+            JumpIntoWaterMiniGame.class,
             JumpIntoWaterMiniGame::new
     );
 
     public static final MiniGameType<EnchantMiniGame> ENCHANT_ITEM = new MiniGameType<>(
             "enchant_item",
+            EnchantMiniGame.class,
             EnchantMiniGame::new
     );
 
     public static final MiniGameType<AddEnchantmentMiniGame> ADD_ENCHANTMENT = new MiniGameType<>(
             "add_enchantment",
+            AddEnchantmentMiniGame.class,
             AddEnchantmentMiniGame::new
     );
 
+    private final int id;
     private final String name;
+    private final Class<T> miniGameClass;
     private final MiniGameCreator<T> creator;
+    private final List<EventHandlerMethod> eventHandlers;
 
-    private MiniGameType(String name, MiniGameCreator<T> creator) {
+    private MiniGameType(String name, Class<T> miniGameClass, MiniGameCreator<T> creator) {
+        this.id = types.size();
         this.name = name;
+        this.miniGameClass = miniGameClass;
         this.creator = creator;
+        eventHandlers = Collections.unmodifiableList(findEventHandlers(miniGameClass));
 
         types.add(this);
     }
 
+    /**
+     * Finds the methods of the mini game that are annotated with {@link EventHandler}, like Bukkit does when a listener
+     * is registered
+     */
+    private static List<EventHandlerMethod> findEventHandlers(Class<?> miniGameClass) {
+        List<EventHandlerMethod> handlers = new ArrayList<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        for (Method method : miniGameClass.getMethods()) {
+            EventHandler annotation = method.getAnnotation(EventHandler.class);
+            if (annotation == null || method.isBridge() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+
+            if (method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                throw new IllegalStateException("Invalid event handler in %s: %s".formatted(miniGameClass.getName(), method.getName()));
+            }
+
+            MethodHandle handle;
+            try {
+                handle = lookup.unreflect(method).asType(MethodType.methodType(void.class, MiniGame.class, Event.class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+
+            handlers.add(new EventHandlerMethod(
+                    method.getParameterTypes()[0].asSubclass(Event.class),
+                    annotation.priority(),
+                    annotation.ignoreCancelled(),
+                    handle
+            ));
+        }
+
+        return handlers;
+    }
+
+    /**
+     * Returns the index of this type in {@link #getTypes()}
+     */
+    public int getId() {
+        return id;
+    }
+
     public String getName() {
         return name;
     }
 
+    public Class<T> getMiniGameClass() {
+        return miniGameClass;
+    }
+
+    public List<EventHandlerMethod> getEventHandlers() {
+        return eventHandlers;
+    }
+
     public MiniGameCreator<T> getCreator() {
         return creator;
     }
 
+    /**
+     * An event handler of a mini game. The handle takes the mini game and the event.
+     */
+    public record EventHandlerMethod(
+            Class<? extends Event> eventClass,
+            EventPriority priority,
+            boolean ignoreCancelled,
+            MethodHandle handle
+    ) { }
+
     @FunctionalInterface
     public interface MiniGameCreator<T extends MiniGame> {
         T createMiniGame(LlamaSaysGame game, Consumer<MiniGame> callback);
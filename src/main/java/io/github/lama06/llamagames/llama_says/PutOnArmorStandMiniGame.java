@@ -45,7 +45,7 @@ public class PutOnArmorStandMiniGame extends MiniGame {
 
     @Override
     public void handleGameStarted() {
-        armorStand = game.getWorld().spawn(game.getConfig().getFloorCenter().asLocation(game.getWorld()).add(0, 1, 0), ArmorStand.class);
+        armorStand = game.getOwnedEntities().spawn(game.getConfig().getFloorCenter().asLocation(game.getWorld()).add(0, 1, 0), ArmorStand.class);
 
         List<Material> items = CollectionUtil.pickRandomElements(ITEMS, 9, game.getRandom());
 
@@ -3,7 +3,6 @@ package io.github.lama06.llamagames.llama_says;
 import io.github.lama06.llamagames.util.CollectionUtil;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Material;
-import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.player.PlayerDropItemEvent;
@@ -101,11 +100,4 @@ public class RemoveFromInventoryMiniGame extends MiniGame {
 
         return result;
     }
-
-    @Override
-    public void cleanupWorld() {
-        for (Item item : game.getWorld().getEntitiesByClass(Item.class)) {
-            item.remove();
-        }
-    }
 }
@@ -41,11 +41,4 @@ public class ShootYourselfWithAnArrowMiniGame extends MiniGame {
     public void cleanupPlayer(Player player) {
         player.setArrowsInBody(0);
     }
-
-    @Override
-    public void cleanupWorld() {
-        for (Arrow arrow : game.getWorld().getEntitiesByClass(Arrow.class)) {
-            arrow.remove();
-        }
-    }
 }
@@ -27,13 +27,6 @@ public class ThrowTridentMiniGame extends MiniGame {
         }
     }
 
-    @Override
-    public void cleanupWorld() {
-        for (Trident trident : game.getWorld().getEntitiesByClass(Trident.class)) {
-            trident.remove();
-        }
-    }
-
     @EventHandler
     public void handleProjectileHitEvent(ProjectileHitEvent event) {
         if (!event.getEntity().getWorld().equals(game.getWorld()) || !(event.getEntity() instanceof Trident trident)) {
@@ -11,6 +11,8 @@ public class TheFloorIsLavaCommand extends GameCommand {
     public TheFloorIsLavaCommand(LlamaGamesPlugin plugin) {
         super(plugin, "thefloorislava");
 
+        addDeadlyBlockDetectionSubCommands();
+
         addSubCommand("floors", createCollectionConfigSubCommand(
                 plugin,
                 TheFloorIsLavaGame.class,
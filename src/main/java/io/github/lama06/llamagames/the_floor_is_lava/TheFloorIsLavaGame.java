@@ -2,9 +2,11 @@ package io.github.lama06.llamagames.the_floor_is_lava;
 
 import com.destroystokyo.paper.event.server.ServerTickEndEvent;
 import com.destroystokyo.paper.event.server.ServerTickStartEvent;
+import io.github.lama06.llamagames.DegradationStep;
 import io.github.lama06.llamagames.Game;
 import io.github.lama06.llamagames.GameType;
 import io.github.lama06.llamagames.LlamaGamesPlugin;
+import io.github.lama06.llamagames.util.BlockArea;
 import io.github.lama06.llamagames.util.BlockPosition;
 import io.github.lama06.llamagames.util.CollectionUtil;
 import net.kyori.adventure.text.Component;
@@ -20,7 +22,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.entity.EntityPickupItemEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
@@ -32,6 +33,7 @@ import java.util.*;
 public class TheFloorIsLavaGame extends Game<TheFloorIsLavaGame, TheFloorIsLavaConfig> {
     private Map<BlockPosition, Integer> blockAges;
     private Map<UUID, Integer> safeWalkUntilTick;
+    private boolean perkSpawnsStopped = false;
 
     public TheFloorIsLavaGame(LlamaGamesPlugin plugin, World world, TheFloorIsLavaConfig config, GameType<TheFloorIsLavaGame, TheFloorIsLavaConfig> type) {
         super(plugin, world, config, type);
@@ -59,10 +61,6 @@ public class TheFloorIsLavaGame extends Game<TheFloorIsLavaGame, TheFloorIsLavaC
             cleanupPlayer(player);
         }
 
-        for (Item item : world.getEntitiesByClass(Item.class)) {
-            item.remove();
-        }
-
         blockAges = null;
         safeWalkUntilTick = null;
     }
@@ -82,6 +80,11 @@ public class TheFloorIsLavaGame extends Game<TheFloorIsLavaGame, TheFloorIsLavaC
         cleanupPlayer(player);
     }
 
+    @Override
+    protected List<DegradationStep> getDegradationSteps() {
+        return List.of(new DegradationStep("Stop perk spawns", () -> perkSpawnsStopped = true, () -> perkSpawnsStopped = false));
+    }
+
     private void cleanupPlayer(Player player) {
         player.getInventory().clear();
         for (PotionEffect potionEffect : player.getActivePotionEffects()) {
@@ -93,6 +96,8 @@ public class TheFloorIsLavaGame extends Game<TheFloorIsLavaGame, TheFloorIsLavaC
         for (Floor floor : config.floors) {
             floor.blocks.fill(world, config.blockStates.get(0));
         }
+
+        invalidateArenaSnapshot();
     }
 
     @EventHandler
@@ -121,12 +126,18 @@ public class TheFloorIsLavaGame extends Game<TheFloorIsLavaGame, TheFloorIsLavaC
             int newBlockTypeIndex = newAge / config.blockAgeTime;
             if (newBlockTypeIndex >= config.blockStates.size()) {
                 block.setType(Material.AIR);
+                if (blockState.getMaterial() == config.deadlyBlock) {
+                    invalidateArenaSnapshot();
+                }
                 continue;
             }
             BlockData newBlockState = config.blockStates.get(newBlockTypeIndex);
 
             if (!blockState.equals(newBlockState)) {
                 block.setBlockData(newBlockState);
+                if (blockState.getMaterial() == config.deadlyBlock || newBlockState.getMaterial() == config.deadlyBlock) {
+                    invalidateArenaSnapshot();
+                }
             }
         }
     }
@@ -135,25 +146,27 @@ public class TheFloorIsLavaGame extends Game<TheFloorIsLavaGame, TheFloorIsLavaC
         return config.floors.stream().anyMatch(floor -> floor.blocks.containsBlock(position));
     }
 
-    @EventHandler
-    private void killPlayersThatTouchDeadlyBlocks(PlayerMoveEvent event) {
-        if (!running || !getPlayers().contains(event.getPlayer())) {
-            return;
-        }
+    @Override
+    protected Material getDeadlyBlock() {
+        return config.deadlyBlock;
+    }
 
-        if (event.getTo().clone().subtract(0, 1, 0).getBlock().getType() != config.deadlyBlock) {
-            return;
-        }
+    @Override
+    protected Collection<BlockArea> getArenaAreas() {
+        return config.floors.stream().map(floor -> floor.blocks).toList();
+    }
 
-        setSpectator(event.getPlayer(), true);
-        cleanupPlayer(event.getPlayer());
+    @Override
+    protected void handlePlayerTouchedDeadlyBlock(Player player) {
+        setSpectator(player, true);
+        cleanupPlayer(player);
     }
 
     private static final String PERK_ITEM_ID_KEY = "perk_item_id";
 
     @EventHandler
     public void spawnPerkItems(ServerTickStartEvent event) {
-        if (!running || random.nextInt(100) != 0) {
+        if (!running || perkSpawnsStopped || random.nextInt(100) != 0) {
             return;
         }
 
@@ -166,7 +179,7 @@ public class TheFloorIsLavaGame extends Game<TheFloorIsLavaGame, TheFloorIsLavaC
         PerkType perk = CollectionUtil.pickRandomElement(PerkType.values(), random);
 
         ItemStack itemStack = perk.createItem(plugin);
-        world.spawn(spawnLocation.asLocation(world), Item.class, item -> {
+        ownedEntities.spawn(spawnLocation.asLocation(world), Item.class, item -> {
             item.setItemStack(itemStack);
 
             item.getPersistentDataContainer().set(new NamespacedKey(plugin, PERK_ITEM_ID_KEY), PersistentDataType.INTEGER, perk.ordinal());
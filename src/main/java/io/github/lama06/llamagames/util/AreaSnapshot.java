@@ -0,0 +1,68 @@
+package io.github.lama06.llamagames.util;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches snapshots of the chunks that contain the given areas so that block types can be read without touching the world.
+ * The snapshots are taken lazily and have to be invalidated when blocks inside the areas are changed.
+ */
+public class AreaSnapshot {
+    private final World world;
+    private final Collection<BlockArea> areas;
+    private final Map<Long, ChunkSnapshot> chunks = new HashMap<>();
+    private boolean valid = false;
+
+    public AreaSnapshot(World world, Collection<BlockArea> areas) {
+        this.world = world;
+        this.areas = areas;
+    }
+
+    private static long getChunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX & 0xffffffffL) | (((long) chunkZ & 0xffffffffL) << 32);
+    }
+
+    private void update() {
+        chunks.clear();
+
+        for (BlockArea area : areas) {
+            for (int chunkX = area.getLowerX() >> 4; chunkX <= area.getUpperX() >> 4; chunkX++) {
+                for (int chunkZ = area.getLowerZ() >> 4; chunkZ <= area.getUpperZ() >> 4; chunkZ++) {
+                    long key = getChunkKey(chunkX, chunkZ);
+                    if (chunks.containsKey(key) || !world.isChunkLoaded(chunkX, chunkZ)) {
+                        continue;
+                    }
+
+                    chunks.put(key, world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+                }
+            }
+        }
+
+        valid = true;
+    }
+
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Returns the type of the block at the given position. Blocks outside the cached chunks are read from the world.
+     */
+    public Material getBlockType(int x, int y, int z) {
+        if (!valid) {
+            update();
+        }
+
+        ChunkSnapshot chunk = chunks.get(getChunkKey(x >> 4, z >> 4));
+        if (chunk == null || y < world.getMinHeight() || y >= world.getMaxHeight()) {
+            return world.getType(x, y, z);
+        }
+
+        return chunk.getBlockType(x & 15, y, z & 15);
+    }
+}
@@ -74,6 +74,17 @@ public final class BlockPosition {
         return world.getBlockAt(x, y, z);
     }
 
+    /**
+     * Packs the coordinates into a long like Minecraft does: 26 bits for x and z and 12 bits for y
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public long pack() {
+        return pack(x, y, z);
+    }
+
     @Override
     public String toString() {
         return x + " " + y + " " + z;
@@ -1,37 +1,59 @@
 package io.github.lama06.llamagames.util;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
+/**
+ * Holds the components of one entity. Once the entity was added to a {@link ComponentStore}, the store also keeps
+ * the components in the arrays of the entity's archetype.
+ */
 public class ComponentContainer {
-    private final Map<Class<?>, Object> components = new HashMap<>();
+    private Object[] components = new Object[0];
+    private long mask = 0;
+    ComponentStore<?> store;
+    ComponentStore.Archetype<?> archetype;
+    int row;
 
     public void addComponent(Object component) {
-        components.put(component.getClass(), component);
+        int id = ComponentStore.getComponentId(component.getClass());
+        if (id >= components.length) {
+            components = Arrays.copyOf(components, id + 1);
+        }
+        components[id] = component;
+
+        boolean newType = (mask & (1L << id)) == 0;
+        mask |= 1L << id;
+
+        if (store != null) {
+            store.handleComponentAdded(this, id, newType);
+        }
     }
 
-    public boolean hasComponent(Class<?> target) {
-        for (Class<?> type : components.keySet()) {
-            if (type.equals(target)) {
-                return true;
-            }
+    /**
+     * Replaces all components. Only allowed while the container is not in a store.
+     */
+    void setComponents(Object[] components, long mask) {
+        if (store != null) {
+            throw new IllegalStateException("setComponents() called but the container is in a store");
         }
 
-        return false;
+        this.components = components;
+        this.mask = mask;
+    }
+
+    public boolean hasComponent(Class<?> type) {
+        return (mask & (1L << ComponentStore.getComponentId(type))) != 0;
     }
 
     @SuppressWarnings("unchecked")
     public <T> T getComponent(Class<T> type) {
-        for (Map.Entry<Class<?>, Object> component : components.entrySet()) {
-            if (component.getKey() == type) {
-                return (T) component.getValue();
-            }
-        }
+        return (T) getComponent(ComponentStore.getComponentId(type));
+    }
 
-        return null;
+    Object getComponent(int id) {
+        return id < components.length ? components[id] : null;
     }
 
-    public Map<Class<?>, Object> getComponents() {
-        return components;
+    public long getMask() {
+        return mask;
     }
 }
@@ -0,0 +1,14 @@
+package io.github.lama06.llamagames.util;
+
+/**
+ * A component that is part of a {@link ComponentTemplate}. The components of new entities are copied from it.
+ *
+ * @param <E> the type of the entities that own the copies
+ */
+@FunctionalInterface
+public interface ComponentPrototype<E> {
+    /**
+     * Returns a new component with the configuration of this prototype and a fresh state
+     */
+    Object instantiate(E owner);
+}
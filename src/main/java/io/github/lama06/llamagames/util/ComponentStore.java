@@ -0,0 +1,212 @@
+package io.github.lama06.llamagames.util;
+
+import java.util.*;
+
+/**
+ * Groups entities with the same set of components into archetypes. Each archetype stores the components of its
+ * entities in one dense array per component type so that systems can iterate over them without any lookups.
+ */
+public class ComponentStore<E> {
+    private static final Map<Class<?>, Integer> COMPONENT_IDS = new HashMap<>();
+
+    public static int getComponentId(Class<?> type) {
+        Integer id = COMPONENT_IDS.get(type);
+        if (id == null) {
+            id = COMPONENT_IDS.size();
+            if (id >= Long.SIZE) {
+                throw new IllegalStateException("There can be at most %d component types".formatted(Long.SIZE));
+            }
+            COMPONENT_IDS.put(type, id);
+        }
+
+        return id;
+    }
+
+    public static long getMask(Collection<Class<?>> types) {
+        long mask = 0;
+        for (Class<?> type : types) {
+            mask |= 1L << getComponentId(type);
+        }
+        return mask;
+    }
+
+    private final Map<Long, Archetype<E>> archetypes = new HashMap<>();
+    private final List<Query<E>> queries = new ArrayList<>();
+
+    public void add(E entity, ComponentContainer container) {
+        if (container.store != null) {
+            throw new IllegalStateException("The entity has already been added to a component store");
+        }
+
+        container.store = this;
+        getArchetype(container.getMask()).add(entity, container);
+    }
+
+    public void remove(ComponentContainer container) {
+        if (container.store != this) {
+            return;
+        }
+
+        container.archetype.remove(container.row);
+        container.store = null;
+        container.archetype = null;
+    }
+
+    /**
+     * Returns a query whose archetypes are kept up to date when new archetypes are created
+     */
+    public Query<E> query(Collection<Class<?>> types) {
+        Query<E> query = new Query<>(getMask(types));
+        for (Archetype<E> archetype : archetypes.values()) {
+            query.offer(archetype);
+        }
+        queries.add(query);
+        return query;
+    }
+
+    @SuppressWarnings("unchecked")
+    void handleComponentAdded(ComponentContainer container, int id, boolean newType) {
+        if (!newType) {
+            container.archetype.columns[id][container.row] = container.getComponent(id);
+            return;
+        }
+
+        E entity = (E) container.archetype.entities[container.row];
+        container.archetype.remove(container.row);
+        getArchetype(container.getMask()).add(entity, container);
+    }
+
+    private Archetype<E> getArchetype(long mask) {
+        Archetype<E> archetype = archetypes.get(mask);
+        if (archetype == null) {
+            archetype = new Archetype<>(mask);
+            archetypes.put(mask, archetype);
+            for (Query<E> query : queries) {
+                query.offer(archetype);
+            }
+        }
+        return archetype;
+    }
+
+    public static final class Archetype<E> {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final long mask;
+        private final Object[][] columns = new Object[Long.SIZE][];
+        private Object[] entities = new Object[INITIAL_CAPACITY];
+        private ComponentContainer[] containers = new ComponentContainer[INITIAL_CAPACITY];
+        private int size = 0;
+
+        private Archetype(long mask) {
+            this.mask = mask;
+
+            for (int id = 0; id < Long.SIZE; id++) {
+                if ((mask & (1L << id)) != 0) {
+                    columns[id] = new Object[INITIAL_CAPACITY];
+                }
+            }
+        }
+
+        private void add(Object entity, ComponentContainer container) {
+            if (size == entities.length) {
+                int capacity = size * 2;
+                entities = Arrays.copyOf(entities, capacity);
+                containers = Arrays.copyOf(containers, capacity);
+                for (int id = 0; id < Long.SIZE; id++) {
+                    if (columns[id] != null) {
+                        columns[id] = Arrays.copyOf(columns[id], capacity);
+                    }
+                }
+            }
+
+            entities[size] = entity;
+            containers[size] = container;
+            for (int id = 0; id < Long.SIZE; id++) {
+                if (columns[id] != null) {
+                    columns[id][size] = container.getComponent(id);
+                }
+            }
+
+            container.archetype = this;
+            container.row = size;
+            size++;
+        }
+
+        /**
+         * Moves the last entity into the removed row
+         */
+        private void remove(int row) {
+            int last = size - 1;
+
+            if (row != last) {
+                entities[row] = entities[last];
+                containers[row] = containers[last];
+                containers[row].row = row;
+                for (int id = 0; id < Long.SIZE; id++) {
+                    if (columns[id] != null) {
+                        columns[id][row] = columns[id][last];
+                    }
+                }
+            }
+
+            entities[last] = null;
+            containers[last] = null;
+            for (int id = 0; id < Long.SIZE; id++) {
+                if (columns[id] != null) {
+                    columns[id][last] = null;
+                }
+            }
+
+            size--;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E getEntity(int row) {
+            return (E) entities[row];
+        }
+
+        /**
+         * Returns the components of the given type of all entities in this archetype. Only the first {@link #size()}
+         * elements are valid. The array must not be used after entities were added.
+         */
+        public Object[] getColumn(Class<?> type) {
+            return columns[getComponentId(type)];
+        }
+
+        public long getMask() {
+            return mask;
+        }
+    }
+
+    public static final class Query<E> {
+        private final long mask;
+        private final List<Archetype<E>> archetypes = new ArrayList<>();
+
+        private Query(long mask) {
+            this.mask = mask;
+        }
+
+        private void offer(Archetype<E> archetype) {
+            if ((archetype.mask & mask) == mask) {
+                archetypes.add(archetype);
+            }
+        }
+
+        public List<Archetype<E>> getArchetypes() {
+            return archetypes;
+        }
+
+        public boolean isEmpty() {
+            for (Archetype<E> archetype : archetypes) {
+                if (archetype.size != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.lama06.llamagames.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The components every entity of a type starts with. The ids of the components are resolved when the template is
+ * built, so creating the components of an entity only copies the prototypes into a new array.
+ */
+public class ComponentTemplate<E> {
+    private final List<ComponentPrototype<? super E>> prototypes = new ArrayList<>();
+    private int[] ids = new int[0];
+    private long mask = 0;
+    private int maxId = -1;
+
+    /**
+     * Adds the prototype or replaces the prototype of the same component type
+     */
+    public ComponentTemplate<E> add(ComponentPrototype<? super E> prototype) {
+        int id = ComponentStore.getComponentId(prototype.getClass());
+
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                prototypes.set(i, prototype);
+                return this;
+            }
+        }
+
+        prototypes.add(prototype);
+        ids = Arrays.copyOf(ids, ids.length + 1);
+        ids[ids.length - 1] = id;
+        mask |= 1L << id;
+        maxId = Math.max(maxId, id);
+        return this;
+    }
+
+    public ComponentTemplate<E> copy() {
+        ComponentTemplate<E> copy = new ComponentTemplate<>();
+        copy.prototypes.addAll(prototypes);
+        copy.ids = ids.clone();
+        copy.mask = mask;
+        copy.maxId = maxId;
+        return copy;
+    }
+
+    /**
+     * Replaces the components of the container with copies of the prototypes
+     */
+    public void instantiate(E owner, ComponentContainer container) {
+        // Components of entities in a store have to be added one by one so that the store can move the entity
+        if (container.store != null) {
+            for (ComponentPrototype<? super E> prototype : prototypes) {
+                container.addComponent(prototype.instantiate(owner));
+            }
+            return;
+        }
+
+        Object[] components = new Object[maxId + 1];
+        for (int i = 0; i < ids.length; i++) {
+            components[ids[i]] = prototypes.get(i).instantiate(owner);
+        }
+        container.setComponents(components, mask);
+    }
+}
@@ -0,0 +1,282 @@
+package io.github.lama06.llamagames.util;
+
+import java.util.*;
+
+/**
+ * Sorts elements into square columns of the x-z-plane so that elements near a position can be found without looking at
+ * every element. The hash is meant to be cleared and filled again once per tick. Cells and arrays are reused.
+ */
+public class SpatialHash<T> {
+    private final double cellSize;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final List<Cell> usedCells = new ArrayList<>();
+    private Object[] elements = new Object[16];
+    private double[] positions = new double[16 * 3];
+    private int size = 0;
+    private int minCellX;
+    private int minCellZ;
+    private int maxCellX;
+    private int maxCellZ;
+    private Object[] nearestElements = new Object[0];
+    private double[] nearestDistances = new double[0];
+
+    public SpatialHash(double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("cellSize must be positive");
+        }
+
+        this.cellSize = cellSize;
+    }
+
+    private static final class Cell {
+        private int[] entries = new int[8];
+        private int count = 0;
+
+        private void add(int entry) {
+            if (count == entries.length) {
+                entries = Arrays.copyOf(entries, count * 2);
+            }
+            entries[count++] = entry;
+        }
+    }
+
+    private static long getKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private int getCellCoordinate(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    public void clear() {
+        for (Cell cell : usedCells) {
+            cell.count = 0;
+        }
+        usedCells.clear();
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
+
+    public void insert(T element, double x, double y, double z) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+            positions = Arrays.copyOf(positions, size * 2 * 3);
+        }
+
+        int entry = size++;
+        elements[entry] = element;
+        positions[entry * 3] = x;
+        positions[entry * 3 + 1] = y;
+        positions[entry * 3 + 2] = z;
+
+        int cellX = getCellCoordinate(x);
+        int cellZ = getCellCoordinate(z);
+
+        if (entry == 0) {
+            minCellX = maxCellX = cellX;
+            minCellZ = maxCellZ = cellZ;
+        } else {
+            minCellX = Math.min(minCellX, cellX);
+            minCellZ = Math.min(minCellZ, cellZ);
+            maxCellX = Math.max(maxCellX, cellX);
+            maxCellZ = Math.max(maxCellZ, cellZ);
+        }
+
+        Cell cell = cells.computeIfAbsent(getKey(cellX, cellZ), key -> new Cell());
+        if (cell.count == 0) {
+            usedCells.add(cell);
+        }
+        cell.add(entry);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getElement(int entry) {
+        return (T) elements[entry];
+    }
+
+    public double getX(int entry) {
+        return positions[entry * 3];
+    }
+
+    public double getY(int entry) {
+        return positions[entry * 3 + 1];
+    }
+
+    public double getZ(int entry) {
+        return positions[entry * 3 + 2];
+    }
+
+    private double getDistanceSquared(int entry, double x, double y, double z) {
+        double dx = positions[entry * 3] - x;
+        double dy = positions[entry * 3 + 1] - y;
+        double dz = positions[entry * 3 + 2] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Clears the list and adds all elements whose distance to the position is at most the radius.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> queryRadius(double x, double y, double z, double radius, List<T> result) {
+        result.clear();
+        if (size == 0) {
+            return result;
+        }
+
+        double radiusSquared = radius * radius;
+        int lowerCellX = Math.max(getCellCoordinate(x - radius), minCellX);
+        int upperCellX = Math.min(getCellCoordinate(x + radius), maxCellX);
+        int lowerCellZ = Math.max(getCellCoordinate(z - radius), minCellZ);
+        int upperCellZ = Math.min(getCellCoordinate(z + radius), maxCellZ);
+
+        for (int cellX = lowerCellX; cellX <= upperCellX; cellX++) {
+            for (int cellZ = lowerCellZ; cellZ <= upperCellZ; cellZ++) {
+                Cell cell = cells.get(getKey(cellX, cellZ));
+                if (cell == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < cell.count; i++) {
+                    int entry = cell.entries[i];
+                    if (getDistanceSquared(entry, x, y, z) <= radiusSquared) {
+                        result.add((T) elements[entry]);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the entry of the element nearest to the position or -1 if there is no element within the radius.
+     */
+    public int queryNearest(double x, double y, double z, double maxRadius) {
+        int nearest = -1;
+        double nearestDistance = maxRadius == Double.MAX_VALUE ? Double.MAX_VALUE : maxRadius * maxRadius;
+
+        int centerX = getCellCoordinate(x);
+        int centerZ = getCellCoordinate(z);
+        int maxRing = getMaxRing(centerX, centerZ, maxRadius);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int cellX = centerX - ring; cellX <= centerX + ring; cellX++) {
+                boolean border = cellX == centerX - ring || cellX == centerX + ring;
+                for (int cellZ = centerZ - ring; cellZ <= centerZ + ring; cellZ += border ? 1 : 2 * ring) {
+                    Cell cell = cells.get(getKey(cellX, cellZ));
+                    if (cell != null) {
+                        for (int i = 0; i < cell.count; i++) {
+                            int entry = cell.entries[i];
+                            double distance = getDistanceSquared(entry, x, y, z);
+                            if (distance <= nearestDistance) {
+                                nearest = entry;
+                                nearestDistance = distance;
+                            }
+                        }
+                    }
+
+                    if (ring == 0) {
+                        break;
+                    }
+                }
+            }
+
+            // Elements in the next ring are at least this far away
+            double ringDistance = ring * cellSize;
+            if (nearest != -1 && nearestDistance <= ringDistance * ringDistance) {
+                break;
+            }
+        }
+
+        return nearest;
+    }
+
+    /**
+     * Clears the list and adds up to k elements nearest to the position, sorted by their distance.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> queryNearest(double x, double y, double z, int k, double maxRadius, List<T> result) {
+        result.clear();
+        if (k <= 0) {
+            return result;
+        }
+
+        if (nearestElements.length < k) {
+            nearestElements = new Object[k];
+            nearestDistances = new double[k];
+        }
+
+        double maxDistance = maxRadius == Double.MAX_VALUE ? Double.MAX_VALUE : maxRadius * maxRadius;
+        int found = 0;
+
+        int centerX = getCellCoordinate(x);
+        int centerZ = getCellCoordinate(z);
+        int maxRing = getMaxRing(centerX, centerZ, maxRadius);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int cellX = centerX - ring; cellX <= centerX + ring; cellX++) {
+                boolean border = cellX == centerX - ring || cellX == centerX + ring;
+                for (int cellZ = centerZ - ring; cellZ <= centerZ + ring; cellZ += border ? 1 : 2 * ring) {
+                    Cell cell = cells.get(getKey(cellX, cellZ));
+                    if (cell != null) {
+                        for (int i = 0; i < cell.count; i++) {
+                            int entry = cell.entries[i];
+                            double distance = getDistanceSquared(entry, x, y, z);
+                            if (distance > maxDistance || (found == k && distance >= nearestDistances[k - 1])) {
+                                continue;
+                            }
+
+                            // Insertion sort into the k nearest elements found so far
+                            int index = found == k ? k - 1 : found++;
+                            while (index > 0 && nearestDistances[index - 1] > distance) {
+                                nearestElements[index] = nearestElements[index - 1];
+                                nearestDistances[index] = nearestDistances[index - 1];
+                                index--;
+                            }
+                            nearestElements[index] = elements[entry];
+                            nearestDistances[index] = distance;
+                        }
+                    }
+
+                    if (ring == 0) {
+                        break;
+                    }
+                }
+            }
+
+            double ringDistance = ring * cellSize;
+            if (found == k && nearestDistances[k - 1] <= ringDistance * ringDistance) {
+                break;
+            }
+        }
+
+        for (int i = 0; i < found; i++) {
+            result.add((T) nearestElements[i]);
+            nearestElements[i] = null;
+        }
+
+        return result;
+    }
+
+    private int getMaxRing(int centerX, int centerZ, double maxRadius) {
+        if (size == 0) {
+            return -1;
+        }
+
+        // No element is outside of the cells between the min and max cell
+        int boundsRing = Math.max(
+                Math.max(Math.abs(centerX - minCellX), Math.abs(centerX - maxCellX)),
+                Math.max(Math.abs(centerZ - minCellZ), Math.abs(centerZ - maxCellZ))
+        );
+
+        if (maxRadius == Double.MAX_VALUE) {
+            return boundsRing;
+        }
+
+        return Math.min(boundsRing, (int) Math.ceil(maxRadius / cellSize));
+    }
+}
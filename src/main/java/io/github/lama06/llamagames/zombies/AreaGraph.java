@@ -0,0 +1,141 @@
+package io.github.lama06.llamagames.zombies;
+
+import java.util.*;
+
+/**
+ * The areas of a map connected by its doors. Area names are interned to ids when the graph is built, so that opening
+ * a door and checking whether an area is unlocked don't need any string lookups.
+ */
+public class AreaGraph {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final Door[] doors;
+    private final int[] doorAreas1;
+    private final int[] doorAreas2;
+    private final BitSet unlockedAreas = new BitSet();
+
+    private AreaGraph(int numberOfDoors) {
+        doors = new Door[numberOfDoors];
+        doorAreas1 = new int[numberOfDoors];
+        doorAreas2 = new int[numberOfDoors];
+    }
+
+    /**
+     * Builds the graph of the areas in the config. The start area is unlocked, as well as all areas that were unlocked
+     * in the previous graph if there is one.
+     */
+    public static AreaGraph build(ZombiesConfig config, AreaGraph previous) {
+        AreaGraph graph = new AreaGraph(config.doors.size());
+
+        int door = 0;
+        for (Door configDoor : config.doors) {
+            graph.doors[door] = configDoor;
+            graph.doorAreas1[door] = graph.intern(configDoor.area1);
+            graph.doorAreas2[door] = graph.intern(configDoor.area2);
+            door++;
+        }
+
+        for (Window window : config.windows) {
+            graph.intern(window.area);
+        }
+        for (AdditionalZombieSpawnLocation location : config.additionalZombieSpawnLocations) {
+            graph.intern(location.area);
+        }
+
+        int startArea = graph.intern(config.startArea);
+        if (startArea != -1) {
+            graph.unlockedAreas.set(startArea);
+        }
+
+        if (previous != null) {
+            for (int area = previous.unlockedAreas.nextSetBit(0); area >= 0; area = previous.unlockedAreas.nextSetBit(area + 1)) {
+                graph.unlockedAreas.set(graph.intern(previous.names.get(area)));
+            }
+        }
+
+        return graph;
+    }
+
+    private int intern(String name) {
+        if (name == null) {
+            return -1;
+        }
+
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        ids.put(name, names.size());
+        names.add(name);
+        return names.size() - 1;
+    }
+
+    /**
+     * Unlocks the area behind the door if the area in front of it is unlocked.
+     *
+     * @return whether an area was unlocked
+     */
+    public boolean openDoor(int door) {
+        int area1 = doorAreas1[door];
+        int area2 = doorAreas2[door];
+
+        if (isUnlocked(area1) && area2 != -1 && !isUnlocked(area2)) {
+            unlockedAreas.set(area2);
+            return true;
+        }
+
+        if (isUnlocked(area2) && area1 != -1 && !isUnlocked(area1)) {
+            unlockedAreas.set(area1);
+            return true;
+        }
+
+        return false;
+    }
+
+    public boolean isUnlocked(int area) {
+        return area >= 0 && unlockedAreas.get(area);
+    }
+
+    public boolean isUnlocked(String name) {
+        return isUnlocked(getId(name));
+    }
+
+    /**
+     * Returns the id of the area or -1 if the area isn't part of the graph
+     */
+    public int getId(String name) {
+        Integer id = name == null ? null : ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public String getName(int area) {
+        return names.get(area);
+    }
+
+    public int getNumberOfAreas() {
+        return names.size();
+    }
+
+    /**
+     * Returns the id of the first area connected by the door or -1 if it has no area
+     */
+    public int getDoorArea1(int door) {
+        return doorAreas1[door];
+    }
+
+    /**
+     * Returns the id of the second area connected by the door or -1 if it has no area
+     */
+    public int getDoorArea2(int door) {
+        return doorAreas2[door];
+    }
+
+    public Door getDoor(int door) {
+        return doors[door];
+    }
+
+    public int getNumberOfDoors() {
+        return doors.length;
+    }
+}
@@ -0,0 +1,276 @@
+package io.github.lama06.llamagames.zombies;
+
+import io.github.lama06.llamagames.util.SpatialHash;
+import io.github.lama06.llamagames.zombies.monster.HealthComponent;
+import io.github.lama06.llamagames.zombies.monster.Monster;
+import org.bukkit.FluidCollisionMode;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.util.RayTraceResult;
+import org.bukkit.util.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the shots fired during a tick and resolves them together at the end of the tick. Rays are tested against
+ * the bounding boxes of the monsters near the shooter, which are looked up in the monster hash of the game.
+ * Consecutive shots of the same player share their candidates. A ray stops at the first block it hits.
+ */
+public class HitscanEngine {
+    /**
+     * Monsters are stored by the position of their feet, so their bounding box may reach this far out of the radius
+     */
+    private static final double CANDIDATE_MARGIN = 2;
+
+    private final ZombiesGame game;
+    private final List<Shot> shots = new ArrayList<>();
+    private int numberOfShots = 0;
+
+    private final List<Monster<?, ?>> candidates = new ArrayList<>();
+    private double[] candidateBoxes = new double[0];
+    private Monster<?, ?>[] hits = new Monster<?, ?>[0];
+    private double[] hitDistances = new double[0];
+
+    private final Location rayStart = new Location(null, 0, 0, 0);
+    private final Vector rayDirection = new Vector();
+    private double slabNear;
+    private double slabFar;
+
+    public HitscanEngine(ZombiesGame game) {
+        this.game = game;
+    }
+
+    private static final class Shot {
+        private ZombiesPlayer shooter;
+        private double x;
+        private double y;
+        private double z;
+        private float yaw;
+        private float pitch;
+        private double range;
+        private int damage;
+        private int pellets;
+        private double spread;
+        private int pierce;
+        private Runnable hitCallback;
+        private Runnable missCallback;
+    }
+
+    /**
+     * Queues a shot that will be resolved at the end of the tick.
+     *
+     * @param pellets     the number of rays; each ray deals the full damage
+     * @param spread      the maximum angle in degrees by which a pellet deviates from the view direction
+     * @param pierce      the number of monsters a ray can pass through
+     * @param hitCallback  called once if at least one pellet hit a monster; may be null
+     * @param missCallback called once if no pellet hit a monster; may be null
+     */
+    public void queueShot(
+            ZombiesPlayer shooter,
+            Location eyeLocation,
+            double range,
+            int damage,
+            int pellets,
+            double spread,
+            int pierce,
+            Runnable hitCallback,
+            Runnable missCallback
+    ) {
+        if (numberOfShots == shots.size()) {
+            shots.add(new Shot());
+        }
+
+        Shot shot = shots.get(numberOfShots++);
+        shot.shooter = shooter;
+        shot.x = eyeLocation.getX();
+        shot.y = eyeLocation.getY();
+        shot.z = eyeLocation.getZ();
+        shot.yaw = eyeLocation.getYaw();
+        shot.pitch = eyeLocation.getPitch();
+        shot.range = range;
+        shot.damage = damage;
+        shot.pellets = Math.max(1, pellets);
+        shot.spread = spread;
+        shot.pierce = Math.max(0, pierce);
+        shot.hitCallback = hitCallback;
+        shot.missCallback = missCallback;
+
+        if (game.getReplayRecorder() != null) {
+            game.getReplayRecorder().recordShot(shooter, shot.x, shot.y, shot.z, shot.yaw, shot.pitch, shot.pellets);
+        }
+    }
+
+    public void resolve() {
+        Shot previousShot = null;
+
+        for (int i = 0; i < numberOfShots; i++) {
+            Shot shot = shots.get(i);
+
+            boolean sameCandidates = previousShot != null && previousShot.shooter == shot.shooter &&
+                    previousShot.x == shot.x && previousShot.y == shot.y && previousShot.z == shot.z &&
+                    previousShot.range >= shot.range;
+            if (!sameCandidates) {
+                collectCandidates(shot);
+                previousShot = shot;
+            }
+
+            boolean hit = false;
+            for (int pellet = 0; pellet < shot.pellets; pellet++) {
+                hit |= resolvePellet(shot, pellet);
+            }
+
+            if (hit && shot.hitCallback != null) {
+                shot.hitCallback.run();
+            } else if (!hit && shot.missCallback != null) {
+                shot.missCallback.run();
+            }
+        }
+
+        clear();
+    }
+
+    private void clear() {
+        for (int i = 0; i < numberOfShots; i++) {
+            shots.get(i).shooter = null;
+            shots.get(i).hitCallback = null;
+            shots.get(i).missCallback = null;
+        }
+        numberOfShots = 0;
+        candidates.clear();
+    }
+
+    private void collectCandidates(Shot shot) {
+        SpatialHash<Monster<?, ?>> monsterHash = game.getMonsterHash();
+        monsterHash.queryRadius(shot.x, shot.y, shot.z, shot.range + CANDIDATE_MARGIN, candidates);
+
+        if (candidateBoxes.length < candidates.size() * 6) {
+            candidateBoxes = new double[candidates.size() * 6];
+        }
+
+        for (int i = 0; i < candidates.size(); i++) {
+            Entity entity = candidates.get(i).getEntity();
+            entity.getLocation(rayStart);
+            double halfWidth = entity.getWidth() / 2;
+
+            candidateBoxes[i * 6] = rayStart.getX() - halfWidth;
+            candidateBoxes[i * 6 + 1] = rayStart.getY();
+            candidateBoxes[i * 6 + 2] = rayStart.getZ() - halfWidth;
+            candidateBoxes[i * 6 + 3] = rayStart.getX() + halfWidth;
+            candidateBoxes[i * 6 + 4] = rayStart.getY() + entity.getHeight();
+            candidateBoxes[i * 6 + 5] = rayStart.getZ() + halfWidth;
+        }
+    }
+
+    private boolean resolvePellet(Shot shot, int pellet) {
+        double yaw = shot.yaw;
+        double pitch = shot.pitch;
+        // The first pellet always flies straight
+        if (pellet != 0 && shot.spread > 0) {
+            yaw += (game.getRandom().nextDouble() * 2 - 1) * shot.spread;
+            pitch += (game.getRandom().nextDouble() * 2 - 1) * shot.spread;
+        }
+
+        double yawRadians = Math.toRadians(yaw);
+        double pitchRadians = Math.toRadians(pitch);
+        double directionX = -Math.sin(yawRadians) * Math.cos(pitchRadians);
+        double directionY = -Math.sin(pitchRadians);
+        double directionZ = Math.cos(yawRadians) * Math.cos(pitchRadians);
+
+        double maxDistance = getDistanceToBlock(shot, directionX, directionY, directionZ);
+
+        int maxHits = shot.pierce + 1;
+        if (hits.length < maxHits) {
+            hits = new Monster<?, ?>[maxHits];
+            hitDistances = new double[maxHits];
+        }
+        int numberOfHits = 0;
+
+        for (int i = 0; i < candidates.size(); i++) {
+            double distance = intersect(shot, directionX, directionY, directionZ, i);
+            if (distance < 0 || distance > maxDistance) {
+                continue;
+            }
+
+            if (numberOfHits == maxHits && distance >= hitDistances[maxHits - 1]) {
+                continue;
+            }
+
+            // Insertion sort into the nearest hits found so far
+            int index = numberOfHits == maxHits ? maxHits - 1 : numberOfHits++;
+            while (index > 0 && hitDistances[index - 1] > distance) {
+                hits[index] = hits[index - 1];
+                hitDistances[index] = hitDistances[index - 1];
+                index--;
+            }
+            hits[index] = candidates.get(i);
+            hitDistances[index] = distance;
+        }
+
+        boolean hit = false;
+        for (int i = 0; i < numberOfHits; i++) {
+            Monster<?, ?> monster = hits[i];
+            hits[i] = null;
+
+            // The monster may have been killed since the monster hash was filled
+            if (!game.getMonsters().contains(monster)) {
+                continue;
+            }
+
+            HealthComponent healthComponent = monster.getComponents().getComponent(HealthComponent.class);
+            if (healthComponent == null) {
+                continue;
+            }
+
+            healthComponent.damage(shot.damage, shot.shooter.getPlayer());
+            hit = true;
+        }
+
+        return hit;
+    }
+
+    private double getDistanceToBlock(Shot shot, double directionX, double directionY, double directionZ) {
+        rayStart.setWorld(game.getWorld());
+        rayStart.set(shot.x, shot.y, shot.z);
+        rayDirection.setX(directionX).setY(directionY).setZ(directionZ);
+
+        RayTraceResult result = game.getWorld().rayTraceBlocks(rayStart, rayDirection, shot.range, FluidCollisionMode.NEVER, true);
+        if (result == null) {
+            return shot.range;
+        }
+
+        Vector position = result.getHitPosition();
+        double dx = position.getX() - shot.x;
+        double dy = position.getY() - shot.y;
+        double dz = position.getZ() - shot.z;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Returns the distance at which the ray enters the bounding box of the candidate or -1 if it misses it
+     */
+    private double intersect(Shot shot, double directionX, double directionY, double directionZ, int candidate) {
+        int offset = candidate * 6;
+        slabNear = 0;
+        slabFar = Double.MAX_VALUE;
+
+        boolean hit = clipSlab(shot.x, directionX, candidateBoxes[offset], candidateBoxes[offset + 3]) &&
+                clipSlab(shot.y, directionY, candidateBoxes[offset + 1], candidateBoxes[offset + 4]) &&
+                clipSlab(shot.z, directionZ, candidateBoxes[offset + 2], candidateBoxes[offset + 5]);
+
+        return hit ? slabNear : -1;
+    }
+
+    private boolean clipSlab(double origin, double direction, double min, double max) {
+        if (Math.abs(direction) < 1e-9) {
+            return origin >= min && origin <= max;
+        }
+
+        double t1 = (min - origin) / direction;
+        double t2 = (max - origin) / direction;
+        slabNear = Math.max(slabNear, Math.min(t1, t2));
+        slabFar = Math.min(slabFar, Math.max(t1, t2));
+
+        return slabNear <= slabFar;
+    }
+}
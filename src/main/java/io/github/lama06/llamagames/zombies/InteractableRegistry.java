@@ -0,0 +1,42 @@
+package io.github.lama06.llamagames.zombies;
+
+import io.github.lama06.llamagames.util.BlockPosition;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the activation blocks of doors, weapon shops and the power switch to what happens when a player clicks them.
+ * Blocks are looked up by their packed coordinates, see {@link BlockPosition#pack(int, int, int)}.
+ */
+public class InteractableRegistry {
+    private final Map<Long, Interactable> interactables = new HashMap<>();
+
+    @FunctionalInterface
+    public interface Interactable {
+        void interact(ZombiesPlayer player);
+    }
+
+    public void clear() {
+        interactables.clear();
+    }
+
+    public void register(BlockPosition activationBlock, Interactable interactable) {
+        if (activationBlock == null) {
+            return;
+        }
+
+        interactables.put(activationBlock.pack(), interactable);
+    }
+
+    /**
+     * Returns the interactable whose activation block is at the position or null if there is none
+     */
+    public Interactable get(int x, int y, int z) {
+        return interactables.get(BlockPosition.pack(x, y, z));
+    }
+
+    public int size() {
+        return interactables.size();
+    }
+}
@@ -7,16 +7,29 @@ public class MonsterSpawnEvent extends ZombiesEvent {
     private static final HandlerList handlers = new HandlerList();
 
     private final Monster<?, ?> monster;
+    private final boolean reused;
 
-    public MonsterSpawnEvent(ZombiesGame game, Monster<?, ?> monster) {
+    public MonsterSpawnEvent(ZombiesGame game, Monster<?, ?> monster, boolean reused) {
         super(game);
         this.monster = monster;
+        this.reused = reused;
+    }
+
+    public MonsterSpawnEvent(ZombiesGame game, Monster<?, ?> monster) {
+        this(game, monster, false);
     }
 
     public Monster<?, ?> getMonster() {
         return monster;
     }
 
+    /**
+     * Returns true if the entity of the monster was taken from the monster pool instead of being spawned
+     */
+    public boolean isReused() {
+        return reused;
+    }
+
     @Override
     public HandlerList getHandlers() {
         return handlers;
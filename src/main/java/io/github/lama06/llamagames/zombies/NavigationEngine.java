@@ -0,0 +1,13 @@
+package io.github.lama06.llamagames.zombies;
+
+public enum NavigationEngine {
+    /**
+     * Every monster searches its own path to the nearest player
+     */
+    VANILLA,
+
+    /**
+     * Monsters follow a flow field that is computed once for all players
+     */
+    FLOW_FIELD
+}
@@ -0,0 +1,15 @@
+package io.github.lama06.llamagames.zombies;
+
+/**
+ * A player as seen by the per-monster logic of the monster systems. That logic only depends on this view and not on the
+ * server, so the {@link io.github.lama06.llamagames.zombies.replay.ReplayProfiler} can run it for recorded players.
+ */
+public interface PlayerView {
+    double getX();
+
+    double getY();
+
+    double getZ();
+
+    boolean isAlive();
+}
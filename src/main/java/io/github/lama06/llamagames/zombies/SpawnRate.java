@@ -19,6 +19,7 @@ public class SpawnRate {
     );
 
     public int delay;
+    public int burst = 1;
     public Map<MonsterType<?, ?>, Integer> monsters;
 
     @GsonConstructor
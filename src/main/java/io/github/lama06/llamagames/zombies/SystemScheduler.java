@@ -0,0 +1,71 @@
+package io.github.lama06.llamagames.zombies;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ticks the systems of a game in the order they were added and measures how long each of them takes.
+ */
+public class SystemScheduler {
+    private final ZombiesGame game;
+    private final List<ZombiesSystem<?>> systems = new ArrayList<>();
+    private long[] totalNanos = new long[0];
+    private int[] runs = new int[0];
+    private int ticks = 0;
+
+    public SystemScheduler(ZombiesGame game) {
+        this.game = game;
+    }
+
+    public void addSystem(ZombiesSystem<?> system) {
+        systems.add(system);
+        totalNanos = new long[systems.size()];
+        runs = new int[systems.size()];
+        system.register();
+    }
+
+    public void tick(int tickNumber) {
+        ticks++;
+
+        for (int i = 0; i < systems.size(); i++) {
+            ZombiesSystem<?> system = systems.get(i);
+            if (!system.shouldTick()) {
+                continue;
+            }
+
+            long start = System.nanoTime();
+            system.tick(tickNumber);
+            totalNanos[i] += System.nanoTime() - start;
+            runs[i]++;
+
+            // A system may have ended the game, for example by killing the last player
+            if (!game.isRunning()) {
+                return;
+            }
+        }
+    }
+
+    public void unregisterAll() {
+        for (ZombiesSystem<?> system : systems) {
+            system.unregister();
+        }
+    }
+
+    public List<ZombiesSystem<?>> getSystems() {
+        return Collections.unmodifiableList(systems);
+    }
+
+    public record Timing(String system, int runs, double averageMillisPerTick) { }
+
+    public List<Timing> getTimings() {
+        List<Timing> timings = new ArrayList<>();
+
+        for (int i = 0; i < systems.size(); i++) {
+            double average = ticks == 0 ? 0 : totalNanos[i] / 1_000_000D / ticks;
+            timings.add(new Timing(systems.get(i).getName(), runs[i], average));
+        }
+
+        return timings;
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.lama06.llamagames.zombies;
+
+import io.github.lama06.llamagames.util.EntityPosition;
+import io.github.lama06.llamagames.zombies.monster.MonsterSpawnLocation;
+import io.github.lama06.llamagames.zombies.monster.MonsterType;
+
+import java.util.*;
+
+/**
+ * Spawns the monsters of a round. Every {@link SpawnRate#delay} ticks a burst of {@link SpawnRate#burst} monsters is
+ * queued. Queued monsters are spawned at a rate of at most {@link ZombiesConfig#maxSpawnsPerTick} per tick.
+ * The type of each monster is picked with a probability proportional to the number of remaining monsters of that type,
+ * ignoring types without spawn candidates.
+ * Its position is picked from the spawn candidates of its spawn location, which are only collected when a door opens.
+ * While the server is overloaded, queued monsters wait until fewer than {@link ZombiesGame#getMaxMonsters()} are alive.
+ */
+public class WaveSpawner {
+    private final ZombiesGame game;
+    private MonsterType<?, ?>[] types = new MonsterType<?, ?>[0];
+    private int[] remaining = new int[0];
+    private int totalRemaining = 0;
+    private int delay;
+    private int burst;
+    private int ticksUntilNextBurst;
+    private int queuedSpawns = 0;
+    private final EntityPosition[][] spawnCandidates = new EntityPosition[MonsterSpawnLocation.values().length][0];
+    private final int[] numberOfSpawnCandidates = new int[MonsterSpawnLocation.values().length];
+
+    public WaveSpawner(ZombiesGame game) {
+        this.game = game;
+        rebuildSpawnCandidates();
+    }
+
+    public void startWave(SpawnRate spawnRate) {
+        List<MonsterType<?, ?>> waveTypes = new ArrayList<>();
+        List<Integer> waveCounts = new ArrayList<>();
+        for (Map.Entry<MonsterType<?, ?>, Integer> entry : spawnRate.monsters.entrySet()) {
+            if (entry.getValue() > 0) {
+                waveTypes.add(entry.getKey());
+                waveCounts.add(entry.getValue());
+            }
+        }
+
+        types = waveTypes.toArray(new MonsterType<?, ?>[0]);
+        remaining = waveCounts.stream().mapToInt(Integer::intValue).toArray();
+        totalRemaining = Arrays.stream(remaining).sum();
+
+        delay = Math.max(1, spawnRate.delay);
+        burst = Math.max(1, spawnRate.burst);
+        ticksUntilNextBurst = delay;
+        queuedSpawns = 0;
+    }
+
+    /**
+     * Collects the spawn positions in unlocked areas for each spawn location. Must be called after an area was unlocked.
+     */
+    public void rebuildSpawnCandidates() {
+        AreaGraph areaGraph = game.getAreaGraph();
+        ZombiesConfig config = game.getConfig();
+        Arrays.fill(numberOfSpawnCandidates, 0);
+
+        for (Window window : config.windows) {
+            if (areaGraph.isUnlocked(window.area)) {
+                addSpawnCandidate(MonsterSpawnLocation.WINDOW, window.spawnLocation);
+            }
+        }
+
+        for (AdditionalZombieSpawnLocation location : config.additionalZombieSpawnLocations) {
+            if (areaGraph.isUnlocked(location.area)) {
+                addSpawnCandidate(MonsterSpawnLocation.ADDITIONAL_SPAWN_LOCATION, location.position);
+            }
+        }
+    }
+
+    private void addSpawnCandidate(MonsterSpawnLocation spawnLocation, EntityPosition position) {
+        int index = spawnLocation.ordinal();
+        if (numberOfSpawnCandidates[index] == spawnCandidates[index].length) {
+            spawnCandidates[index] = Arrays.copyOf(spawnCandidates[index], Math.max(8, numberOfSpawnCandidates[index] * 2));
+        }
+        spawnCandidates[index][numberOfSpawnCandidates[index]++] = position;
+    }
+
+    /**
+     * Returns a random spawn position of the spawn location in an unlocked area or null if there is none
+     */
+    public EntityPosition getRandomSpawnCandidate(MonsterSpawnLocation spawnLocation) {
+        int index = spawnLocation.ordinal();
+        if (numberOfSpawnCandidates[index] == 0) {
+            return null;
+        }
+
+        return spawnCandidates[index][game.getRandom().nextInt(numberOfSpawnCandidates[index])];
+    }
+
+    public void tick() {
+        if (totalRemaining == 0) {
+            return;
+        }
+
+        if (--ticksUntilNextBurst <= 0) {
+            queuedSpawns = Math.min(queuedSpawns + burst, totalRemaining);
+            ticksUntilNextBurst = delay;
+        }
+
+        int budget = game.getConfig().maxSpawnsPerTick;
+        int maxMonsters = game.getMaxMonsters();
+        while (queuedSpawns > 0 && budget > 0 && game.getMonsters().size() < maxMonsters) {
+            int type = pickSpawnableType();
+            // No remaining type has spawn candidates in the unlocked areas
+            if (type == -1) {
+                return;
+            }
+
+            int spawnLocation = types[type].getSpawnLocation().ordinal();
+            int candidates = numberOfSpawnCandidates[spawnLocation];
+
+            remaining[type]--;
+            totalRemaining--;
+            queuedSpawns--;
+            budget--;
+
+            game.spawnMonster(types[type], spawnCandidates[spawnLocation][game.getRandom().nextInt(candidates)]);
+        }
+    }
+
+    private boolean isSpawnable(int type) {
+        return numberOfSpawnCandidates[types[type].getSpawnLocation().ordinal()] != 0;
+    }
+
+    /**
+     * Picks one of the types with spawn candidates or returns -1 if there is none. Types without spawn candidates are
+     * skipped, so that they don't block the types that can be spawned.
+     */
+    private int pickSpawnableType() {
+        int spawnableRemaining = 0;
+        for (int i = 0; i < types.length; i++) {
+            if (isSpawnable(i)) {
+                spawnableRemaining += remaining[i];
+            }
+        }
+
+        if (spawnableRemaining == 0) {
+            return -1;
+        }
+
+        int value = game.getRandom().nextInt(spawnableRemaining);
+        for (int i = 0; i < types.length; i++) {
+            if (!isSpawnable(i)) {
+                continue;
+            }
+
+            value -= remaining[i];
+            if (value < 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    public boolean isFinished() {
+        return totalRemaining == 0;
+    }
+
+    public int getTotalRemaining() {
+        return totalRemaining;
+    }
+}
@@ -7,7 +7,9 @@ import io.github.lama06.llamagames.util.BlockPosition;
 import io.github.lama06.llamagames.util.EntityPosition;
 import io.github.lama06.llamagames.zombies.weapon.WeaponType;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
 
+import java.util.Locale;
 import java.util.Optional;
 import java.util.OptionalInt;
 
@@ -159,6 +161,189 @@ public class ZombiesCommand extends GameCommand {
                 }
         ));
 
+        addSubCommand("repathBuckets", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("Monsters are spread across %d ticks when searching paths".formatted(config.repathBuckets)),
+                (config, buckets) -> config.repathBuckets = Math.max(1, buckets),
+                buckets -> Component.text("Monsters will now be spread across %d ticks when searching paths".formatted(Math.max(1, buckets)))
+        ));
+
+        addSubCommand("maxRepathsPerTick", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("At most %d paths are searched per tick".formatted(config.maxRepathsPerTick)),
+                (config, repaths) -> config.maxRepathsPerTick = Math.max(1, repaths),
+                repaths -> Component.text("At most %d paths will now be searched per tick".formatted(Math.max(1, repaths)))
+        ));
+
+        addSubCommand("navigationEngine", createConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("Monsters are currently navigating using: %s"
+                        .formatted(config.navigationEngine.name().toLowerCase(Locale.ROOT))),
+                (config, engine) -> config.navigationEngine = engine,
+                engine -> Component.text("Monsters will now navigate using: %s".formatted(engine.name().toLowerCase(Locale.ROOT))),
+                (sender, args) -> {
+                    if (!requireArgsExact(sender, args, 1)) return Optional.empty();
+                    return requireEnum(sender, NavigationEngine.class, args[0]);
+                }
+        ));
+
+        addSubCommand("navigationArea", createBlockAreaConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("The navigation area is currently %s".formatted(config.navigationArea)),
+                (config, area) -> config.navigationArea = area,
+                area -> Component.text("The navigation area is now %s".formatted(area))
+        ));
+
+        addSubCommand("flowFieldLookahead", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("Monsters currently walk %d blocks ahead along the flow field".formatted(config.flowFieldLookahead)),
+                (config, lookahead) -> config.flowFieldLookahead = Math.max(1, lookahead),
+                lookahead -> Component.text("Monsters will now walk %d blocks ahead along the flow field".formatted(Math.max(1, lookahead)))
+        ));
+
+        addSubCommand("lodFullDistance", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("Monsters within %d blocks of a player are fully simulated".formatted(config.lodFullDistance)),
+                (config, distance) -> config.lodFullDistance = Math.max(0, distance),
+                distance -> Component.text("Monsters within %d blocks of a player will now be fully simulated".formatted(Math.max(0, distance)))
+        ));
+
+        addSubCommand("lodReducedInterval", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("Far monsters are simulated every %d ticks".formatted(config.lodReducedInterval)),
+                (config, interval) -> config.lodReducedInterval = Math.max(1, interval),
+                interval -> Component.text("Far monsters will now be simulated every %d ticks".formatted(Math.max(1, interval)))
+        ));
+
+        addSubCommand("lodDormantInterval", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("Monsters that can't reach a player are simulated every %d ticks".formatted(config.lodDormantInterval)),
+                (config, interval) -> config.lodDormantInterval = Math.max(1, interval),
+                interval -> Component.text("Monsters that can't reach a player will now be simulated every %d ticks".formatted(Math.max(1, interval)))
+        ));
+
+        addSubCommand("maxSpawnsPerTick", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("At most %d monsters are spawned per tick".formatted(config.maxSpawnsPerTick)),
+                (config, spawns) -> config.maxSpawnsPerTick = Math.max(1, spawns),
+                spawns -> Component.text("At most %d monsters will now be spawned per tick".formatted(Math.max(1, spawns)))
+        ));
+
+        addSubCommand("virtualHorde", createBooleanConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> config.virtualHorde ?
+                        Component.text("Monsters are simulated as a virtual horde") :
+                        Component.text("Monsters are spawned as entities"),
+                (config, flag) -> config.virtualHorde = flag,
+                flag -> flag ?
+                        Component.text("Monsters will now be simulated as a virtual horde") :
+                        Component.text("Monsters will now be spawned as entities")
+        ));
+
+        addSubCommand("hordeMaterializeRadius", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("Horde monsters spawn within %d blocks of a player".formatted(config.hordeMaterializeRadius)),
+                (config, radius) -> config.hordeMaterializeRadius = Math.max(1, radius),
+                radius -> Component.text("Horde monsters will now spawn within %d blocks of a player".formatted(Math.max(1, radius)))
+        ));
+
+        addSubCommand("hordeMaterializePerTick", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("At most %d horde monsters spawn per tick".formatted(config.hordeMaterializePerTick)),
+                (config, monsters) -> config.hordeMaterializePerTick = Math.max(1, monsters),
+                monsters -> Component.text("At most %d horde monsters will now spawn per tick".formatted(Math.max(1, monsters)))
+        ));
+
+        addSubCommand("hordeMaxMaterialized", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("At most %d horde monsters are spawned at the same time".formatted(config.hordeMaxMaterialized)),
+                (config, monsters) -> config.hordeMaxMaterialized = Math.max(1, monsters),
+                monsters -> Component.text("At most %d horde monsters will now be spawned at the same time".formatted(Math.max(1, monsters)))
+        ));
+
+        addSubCommand("hordeBlocksPerSecond", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("Virtual horde monsters move %d blocks per second".formatted(config.hordeBlocksPerSecond)),
+                (config, speed) -> config.hordeBlocksPerSecond = Math.max(1, speed),
+                speed -> Component.text("Virtual horde monsters will now move %d blocks per second".formatted(Math.max(1, speed)))
+        ));
+
+        addSubCommand("degradedMaxMonsters", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("At most %d monsters are alive while the server is overloaded".formatted(config.degradedMaxMonsters)),
+                (config, monsters) -> config.degradedMaxMonsters = Math.max(1, monsters),
+                monsters -> Component.text("At most %d monsters will now be alive while the server is overloaded".formatted(Math.max(1, monsters)))
+        ));
+
+        addSubCommand("monsterPoolSize", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("At most %d monsters per type are kept for reuse".formatted(config.monsterPoolSize)),
+                (config, size) -> config.monsterPoolSize = Math.max(0, size),
+                size -> Component.text("At most %d monsters per type will now be kept for reuse".formatted(Math.max(0, size)))
+        ));
+
+        addSubCommand("monsterPrewarmPerTick", createIntegerConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("%d monsters are created in advance per tick".formatted(config.monsterPrewarmPerTick)),
+                (config, count) -> config.monsterPrewarmPerTick = Math.max(0, count),
+                count -> Component.text("%d monsters will now be created in advance per tick".formatted(Math.max(0, count)))
+        ));
+
+        addSubCommand("monsterParkingPosition", createEntityPositionConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> Component.text("Unused monsters are currently parked at %s".formatted(config.monsterParkingPosition)),
+                (config, position) -> config.monsterParkingPosition = position,
+                position -> Component.text("Unused monsters will now be parked at %s".formatted(position))
+        ));
+
+        addSubCommand("recordReplays", createBooleanConfigSubCommand(
+                plugin,
+                ZombiesGame.class,
+                config -> config.recordReplays ?
+                        Component.text("Games are recorded as replays") :
+                        Component.text("Games are not recorded"),
+                (config, flag) -> config.recordReplays = flag,
+                flag -> flag ?
+                        Component.text("Games will now be recorded as replays") :
+                        Component.text("Games will no longer be recorded")
+        ));
+
+        addSubCommand("timings", (sender, args) -> {
+            if (!requireOp(sender)) return;
+            if (!requireArgsExact(sender, args, 1)) return;
+
+            Optional<ZombiesGame> game = requireGame(plugin, sender, args[0], ZombiesGame.class);
+            if (game.isEmpty()) return;
+
+            if (!game.get().isRunning()) {
+                sender.sendMessage(Component.text("The game is not running", NamedTextColor.RED));
+                return;
+            }
+
+            for (SystemScheduler.Timing timing : game.get().getSystemScheduler().getTimings()) {
+                sender.sendMessage(Component.text("%s - %.3f ms per tick, ticked %d times"
+                        .formatted(timing.system(), timing.averageMillisPerTick(), timing.runs())));
+            }
+        });
+
         addSubCommand("spawnRates", (sender, args) ->
                 sender.sendMessage(Component.text("Spawn Rates can currently only be modified directly through the config file")));
     }
@@ -1,8 +1,12 @@
 package io.github.lama06.llamagames.zombies;
 
 import io.github.lama06.llamagames.GameConfig;
+import io.github.lama06.llamagames.util.BlockArea;
+import io.github.lama06.llamagames.util.EntityPosition;
 import io.github.lama06.llamagames.util.GsonConstructor;
+import io.github.lama06.llamagames.zombies.monster.MonsterType;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -15,6 +19,30 @@ public class ZombiesConfig extends GameConfig {
     public Set<AdditionalZombieSpawnLocation> additionalZombieSpawnLocations = new HashSet<>();
     public PowerSwitch powerSwitch = null;
     public Map<Integer, SpawnRate> spawnRates = SpawnRate.DEFAULT_SPAWN_RATE;
+    /**
+     * Overrides the health of monster types
+     */
+    public Map<MonsterType<?, ?>, Integer> monsterHealth = new HashMap<>();
+    public int repathBuckets = 4;
+    public double repathDistanceThreshold = 2;
+    public int maxRepathsPerTick = 20;
+    public NavigationEngine navigationEngine = NavigationEngine.VANILLA;
+    public BlockArea navigationArea = null;
+    public int flowFieldLookahead = 4;
+    public int lodFullDistance = 24;
+    public int lodReducedInterval = 4;
+    public int lodDormantInterval = 20;
+    public int maxSpawnsPerTick = 5;
+    public boolean virtualHorde = false;
+    public int hordeMaterializeRadius = 24;
+    public int hordeMaterializePerTick = 2;
+    public int hordeMaxMaterialized = 40;
+    public int hordeBlocksPerSecond = 4;
+    public int degradedMaxMonsters = 20;
+    public boolean recordReplays = false;
+    public int monsterPoolSize = 32;
+    public int monsterPrewarmPerTick = 2;
+    public EntityPosition monsterParkingPosition = null;
 
     @GsonConstructor
     public ZombiesConfig() { }
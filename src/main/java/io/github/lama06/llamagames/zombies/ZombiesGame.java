@@ -1,40 +1,75 @@
 package io.github.lama06.llamagames.zombies;
 
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
 import com.destroystokyo.paper.event.server.ServerTickStartEvent;
+import io.github.lama06.llamagames.DegradationStep;
 import io.github.lama06.llamagames.Game;
 import io.github.lama06.llamagames.GameType;
 import io.github.lama06.llamagames.LlamaGamesPlugin;
-import io.github.lama06.llamagames.util.BlockPosition;
-import io.github.lama06.llamagames.util.CollectionUtil;
+import io.github.lama06.llamagames.util.ComponentStore;
+import io.github.lama06.llamagames.util.ComponentTemplate;
 import io.github.lama06.llamagames.util.EntityPosition;
+import io.github.lama06.llamagames.util.SpatialHash;
+import io.github.lama06.llamagames.zombies.horde.VirtualHorde;
 import io.github.lama06.llamagames.zombies.monster.*;
-import io.github.lama06.llamagames.zombies.weapon.WeaponSystem;
+import io.github.lama06.llamagames.zombies.navigation.FlowField;
+import io.github.lama06.llamagames.zombies.navigation.NavigationGrid;
+import io.github.lama06.llamagames.zombies.replay.ReplayRecorder;
+import io.github.lama06.llamagames.zombies.weapon.Weapon;
 import io.github.lama06.llamagames.zombies.weapon.WeaponSystemType;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.title.Title;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.player.PlayerInteractEvent;
-import org.bukkit.scheduler.BukkitTask;
-
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class ZombiesGame extends Game<ZombiesGame, ZombiesConfig> {
+    private static final double SPATIAL_HASH_CELL_SIZE = 8;
+    private static final int DEGRADED_REPATH_SLOWDOWN = 2;
+
     private Set<ZombiesPlayer> zombiesPlayers;
+    private Map<UUID, ZombiesPlayer> zombiesPlayersById;
     private int currentRound;
-    private Map<MonsterType<?, ?>, Integer> remainingMonsters;
-    private int spawnDelay;
-    private BukkitTask spawnNextMonsterTask;
+    private WaveSpawner waveSpawner;
+    private VirtualHorde virtualHorde;
     private Set<Monster<?, ?>> monsters;
+    private Map<Integer, Monster<?, ?>> monstersByEntityId;
+    private final ArrayDeque<Monster<?, ?>> deathQueue = new ArrayDeque<>();
     private Set<Door> openDoors;
-    private Set<String> unlockedAreas;
-    private Set<MonsterSystem> monsterSystems;
-    private Set<WeaponSystem> weaponSystems;
+    private AreaGraph areaGraph;
+    private final InteractableRegistry interactables = new InteractableRegistry();
+    private boolean powerOn;
+    private NavigationGrid navigationGrid;
+    private FlowField flowField;
+    private final SpatialHash<ZombiesPlayer> playerHash = new SpatialHash<>(SPATIAL_HASH_CELL_SIZE);
+    private final SpatialHash<Monster<?, ?>> monsterHash = new SpatialHash<>(SPATIAL_HASH_CELL_SIZE);
+    private final Location spatialHashLocation = new Location(null, 0, 0, 0);
+    private ComponentStore<Monster<?, ?>> monsterStore;
+    private ComponentStore<Weapon<?>> weaponStore;
+    private SystemScheduler systemScheduler;
+    private HitscanEngine hitscanEngine;
+    private MonsterPool monsterPool;
+    private ReplayRecorder replayRecorder;
+    private Map<MonsterType<?, ?>, ComponentTemplate<Monster<?, ?>>> monsterTemplates;
+    private boolean repathingSlowedDown = false;
+    private boolean monstersCapped = false;
 
     public ZombiesGame(LlamaGamesPlugin plugin, World world, ZombiesConfig config, GameType<ZombiesGame, ZombiesConfig> type) {
         super(plugin, world, config, type);
@@ -49,67 +84,136 @@ public class ZombiesGame extends Game<ZombiesGame, ZombiesConfig> {
             } catch (NumberFormatException ignored) { }
         }
 
+        monsterTemplates = new HashMap<>();
+        for (MonsterType<?, ?> type : MonsterType.getTypes()) {
+            ComponentTemplate<Monster<?, ?>> template = type.getTemplate();
+
+            Integer health = config.monsterHealth.get(type);
+            if (health != null) {
+                template = template.copy().add(new HealthComponent(null, health));
+            }
+
+            monsterTemplates.put(type, template);
+        }
+
+        monsterStore = new ComponentStore<>();
+        weaponStore = new ComponentStore<>();
+
         zombiesPlayers = new HashSet<>();
+        zombiesPlayersById = new HashMap<>();
         for (Player player : world.getPlayers()) {
-            zombiesPlayers.add(new ZombiesPlayer(this, player));
+            ZombiesPlayer zombiesPlayer = new ZombiesPlayer(this, player);
+            zombiesPlayers.add(zombiesPlayer);
+            zombiesPlayersById.put(player.getUniqueId(), zombiesPlayer);
         }
 
         monsters = new HashSet<>();
+        monstersByEntityId = new HashMap<>();
+        monsterPool = new MonsterPool(this);
 
-        unlockedAreas = new HashSet<>();
-        unlockedAreas.add(config.startArea);
+        areaGraph = AreaGraph.build(config, null);
 
         openDoors = new HashSet<>();
+        powerOn = false;
 
-        monsterSystems = new HashSet<>();
-        for (MonsterSystemType<?> type : MonsterSystemType.getTypes()) {
-            MonsterSystem system = type.creator().apply(this);
-            monsterSystems.add(system);
-            system.register();
+        registerInteractables();
+
+        waveSpawner = new WaveSpawner(this);
+        if (config.virtualHorde) {
+            virtualHorde = new VirtualHorde(this);
         }
 
-        weaponSystems = new HashSet<>();
+        hitscanEngine = new HitscanEngine(this);
+
+        systemScheduler = new SystemScheduler(this);
+        for (MonsterSystemType<?> type : MonsterSystemType.getTypes()) {
+            systemScheduler.addSystem(type.creator().apply(this));
+        }
         for (WeaponSystemType<?> type : WeaponSystemType.getTypes()) {
-            WeaponSystem system = type.creator().apply(this);
-            weaponSystems.add(system);
-            system.register();
+            systemScheduler.addSystem(type.creator().apply(this));
         }
 
         closeAllDoors();
 
+        if (config.navigationEngine == NavigationEngine.FLOW_FIELD && config.navigationArea != null) {
+            navigationGrid = NavigationGrid.build(world, config.navigationArea, config.doors);
+            flowField = new FlowField(navigationGrid);
+        }
+
+        if (config.recordReplays) {
+            startRecordingReplay();
+        }
+
         startRound(startRound);
     }
 
+    private void startRecordingReplay() {
+        File folder = new File(plugin.getDataFolder(), "replays");
+        if (!folder.isDirectory() && !folder.mkdir()) {
+            plugin.getSLF4JLogger().error("Failed to create the replay folder");
+            return;
+        }
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH.mm.ss");
+        File file = new File(folder, "%s (%s).replay".formatted(world.getName(), formatter.format(LocalDateTime.now())));
+
+        try {
+            replayRecorder = ReplayRecorder.open(plugin.getSLF4JLogger(), file, Bukkit.getCurrentTick());
+        } catch (IOException e) {
+            plugin.getSLF4JLogger().error("Failed to create the replay file: %s".formatted(e));
+        }
+    }
+
     @Override
     public void handleGameEnded(GameEndReason reason) {
+        if (replayRecorder != null) {
+            replayRecorder.close();
+            plugin.getSLF4JLogger().info("The replay was saved to %s".formatted(replayRecorder.getFile().getName()));
+            replayRecorder = null;
+        }
+
         for (ZombiesPlayer zombiesPlayer : zombiesPlayers) {
             zombiesPlayer.cleanup();
         }
         zombiesPlayers = null;
+        zombiesPlayersById = null;
 
         for (Monster<?, ?> monster : monsters) {
             monster.remove();
         }
         monsters = null;
+        monstersByEntityId = null;
+        deathQueue.clear();
+
+        monsterPool.clear();
+        monsterPool = null;
+        monsterStore = null;
+        weaponStore = null;
+        monsterTemplates = null;
 
-        unlockedAreas = null;
+        areaGraph = null;
 
         openDoors = null;
 
-        if (spawnNextMonsterTask != null) {
-            spawnNextMonsterTask.cancel();
-            spawnNextMonsterTask = null;
-        }
+        interactables.clear();
 
-        for (MonsterSystem system : monsterSystems) {
-            system.unregister();
-        }
-        monsterSystems = null;
+        navigationGrid = null;
+        flowField = null;
 
-        for (WeaponSystem system : weaponSystems) {
-            system.unregister();
+        playerHash.clear();
+        monsterHash.clear();
+
+        waveSpawner = null;
+
+        if (virtualHorde != null) {
+            virtualHorde.clear();
+            virtualHorde = null;
         }
-        weaponSystems = null;
+
+        systemScheduler.unregisterAll();
+        systemScheduler = null;
+
+        hitscanEngine = null;
 
         closeAllDoors();
     }
@@ -131,12 +235,11 @@ public class ZombiesGame extends Game<ZombiesGame, ZombiesConfig> {
 
     @Override
     public void handlePlayerLeft(Player player) {
-        ZombiesPlayer zombiesPlayer = getZombiesPlayer(player);
+        ZombiesPlayer zombiesPlayer = zombiesPlayersById.remove(player.getUniqueId());
         if (zombiesPlayer != null) {
             zombiesPlayer.cleanup();
+            zombiesPlayers.remove(zombiesPlayer);
         }
-
-        zombiesPlayers.removeIf(p -> p.getPlayer().equals(player));
     }
 
     @Override
@@ -144,6 +247,28 @@ public class ZombiesGame extends Game<ZombiesGame, ZombiesConfig> {
         return numberOfPlayers >= 1;
     }
 
+    @Override
+    protected List<DegradationStep> getDegradationSteps() {
+        return List.of(
+                new DegradationStep("Slow down repathing", () -> repathingSlowedDown = true, () -> repathingSlowedDown = false),
+                new DegradationStep("Cap monsters", () -> monstersCapped = true, () -> monstersCapped = false)
+        );
+    }
+
+    /**
+     * Returns the factor by which monsters repath less often because the server is overloaded
+     */
+    public int getRepathSlowdown() {
+        return repathingSlowedDown ? DEGRADED_REPATH_SLOWDOWN : 1;
+    }
+
+    /**
+     * Returns the number of monsters that may be alive at the same time
+     */
+    public int getMaxMonsters() {
+        return monstersCapped ? config.degradedMaxMonsters : Integer.MAX_VALUE;
+    }
+
     private void startNextRound() {
         startRound(currentRound + 1);
     }
@@ -151,74 +276,71 @@ public class ZombiesGame extends Game<ZombiesGame, ZombiesConfig> {
     private void startRound(int round) {
         currentRound = round;
 
+        if (replayRecorder != null) {
+            replayRecorder.recordRound(round);
+        }
+
         SpawnRate spawnRate = config.getSpawnRate(round);
         if (spawnRate == null) {
             endGame(GameEndReason.ENDED);
             return;
         }
 
-        remainingMonsters = new HashMap<>(spawnRate.monsters);
-        spawnDelay = spawnRate.delay;
+        if (virtualHorde != null) {
+            virtualHorde.startWave(spawnRate);
+        } else {
+            waveSpawner.startWave(spawnRate);
+        }
+
+        // No monster would ever be killed, so the round would never end
+        if (getRemainingMonsters() == 0) {
+            startNextRound();
+            return;
+        }
+
+        for (Map.Entry<MonsterType<?, ?>, Integer> entry : spawnRate.monsters.entrySet()) {
+            monsterPool.setPrewarmTarget(entry.getKey(), entry.getValue());
+        }
 
         for (Player player : world.getPlayers()) {
             setSpectator(player, false);
         }
 
+        for (ZombiesPlayer zombiesPlayer : zombiesPlayers) {
+            zombiesPlayer.invalidateDisplayedItems();
+        }
+
         getBroadcastAudience().showTitle(Title.title(
                 Component.text("Round %d".formatted(round), NamedTextColor.YELLOW),
-                Component.text("%d Zombies".formatted(remainingMonsters.values().stream().mapToInt(i -> i).sum()))
+                Component.text("%d Zombies".formatted(getRemainingMonsters()))
         ));
-
-        spawnNextMonsterTask = Bukkit.getScheduler().runTaskLater(plugin, this::spawnNextMonster, spawnDelay);
     }
 
-    private void spawnNextMonster() {
-        cleanupRemainingMonsters();
-        MonsterType<?, ?> monsterType = CollectionUtil.pickRandomElement(remainingMonsters.keySet());
-        remainingMonsters.put(monsterType, remainingMonsters.get(monsterType) - 1);
-
-        EntityPosition spawnLocation = getRandomMonsterSpawnPosition(monsterType.getSpawnLocation());
-
-        spawnMonster(monsterType, spawnLocation);
-
-        cleanupRemainingMonsters();
-        if (!remainingMonsters.isEmpty()) {
-            spawnNextMonsterTask = Bukkit.getScheduler().runTaskLater(plugin, this::spawnNextMonster, spawnDelay);
-        } else {
-            spawnNextMonsterTask = null;
-        }
-    }
-
-    private EntityPosition getRandomMonsterSpawnPosition(MonsterSpawnLocation spawnLocation) {
-        record SpawnData(EntityPosition position, String area) { }
-
-        Set<SpawnData> possibleSpawns = (switch (spawnLocation) {
-            case WINDOW -> config.windows.stream().map(window -> new SpawnData(window.spawnLocation, window.area));
-            case ADDITIONAL_SPAWN_LOCATION -> config.additionalZombieSpawnLocations.stream().map(location -> new SpawnData(location.position, location.area));
-        }).filter(spawnData -> unlockedAreas.contains(spawnData.area)).collect(Collectors.toSet());
-
-        SpawnData spawnData = CollectionUtil.pickRandomElement(possibleSpawns, random);
-
-        if (spawnData == null) return null;
-        return spawnData.position;
+    public Set<Monster<?, ?>> getMonsters() {
+        return monsters;
     }
 
-    private void cleanupRemainingMonsters() {
-        remainingMonsters.values().removeIf(integer -> integer <= 0);
+    /**
+     * Returns the monsters whose health reached zero during this tick. They are killed by the
+     * {@link HealthComponent.RemoveDeadZombiesSystem}.
+     */
+    public ArrayDeque<Monster<?, ?>> getDeathQueue() {
+        return deathQueue;
     }
 
-    public Set<Monster<?, ?>> getMonsters() {
-        return monsters;
+    public Monster<?, ?> getMonster(Entity entity) {
+        return monstersByEntityId.get(entity.getEntityId());
     }
 
-    public Monster<?, ?> getMonster(Entity entity) {
-        for (Monster<?, ?> monster : monsters) {
-            if (monster.getEntity().equals(entity)) {
-                return monster;
-            }
+    /**
+     * Returns the number of monsters of this round that haven't been killed yet, including those that haven't spawned
+     */
+    public int getRemainingMonsters() {
+        int remaining = monsters.size() + waveSpawner.getTotalRemaining();
+        if (virtualHorde != null) {
+            remaining += virtualHorde.size();
         }
-
-        return null;
+        return remaining;
     }
 
     public void killMonster(Monster<?, ?> monster, ZombiesPlayer killedBy) {
@@ -226,17 +348,48 @@ public class ZombiesGame extends Game<ZombiesGame, ZombiesConfig> {
             killedBy.giveGold(25);
         }
 
-        monster.remove();
-        monsters.remove(monster);
+        if (replayRecorder != null) {
+            replayRecorder.recordMonsterKilled(monster.getEntity().getEntityId());
+        }
+
+        despawnMonster(monster);
 
-        if (monsters.isEmpty() && spawnNextMonsterTask == null) {
+        if (getRemainingMonsters() == 0) {
             startNextRound();
         }
     }
 
-    public <T extends Monster<T, E>, E extends Entity> void spawnMonster(MonsterType<T, E> type, EntityPosition position) {
-        T monster = type.getCreator().createMonster(this, type, world, position);
+    /**
+     * Removes the monster from the game without killing it
+     */
+    public void despawnMonster(Monster<?, ?> monster) {
+        if (replayRecorder != null) {
+            replayRecorder.recordMonsterDespawned(monster.getEntity().getEntityId());
+        }
+
+        monsterPool.release(monster);
+        monsters.remove(monster);
+        monstersByEntityId.remove(monster.getEntity().getEntityId());
+        monsterStore.remove(monster.getComponents());
+    }
+
+    public <T extends Monster<T, E>, E extends Entity> T spawnMonster(MonsterType<T, E> type, EntityPosition position) {
+        T monster = monsterPool.obtain(type, position);
         monsters.add(monster);
+        monstersByEntityId.put(monster.getEntity().getEntityId(), monster);
+        monsterStore.add(monster, monster.getComponents());
+
+        if (replayRecorder != null) {
+            replayRecorder.recordMonsterSpawned(
+                    monster.getEntity().getEntityId(),
+                    type.getName(),
+                    position.getX(),
+                    position.getY(),
+                    position.getZ()
+            );
+        }
+
+        return monster;
     }
 
     private void closeAllDoors() {
@@ -250,25 +403,26 @@ public class ZombiesGame extends Game<ZombiesGame, ZombiesConfig> {
     }
 
     @EventHandler
-    public void listenForPlayerOpensDoor(PlayerInteractEvent event) {
+    public void listenForPlayerInteractsWithBlock(PlayerInteractEvent event) {
         if (!running) {
             return;
         }
 
-        if (!getPlayers().contains(event.getPlayer())) {
+        if (!event.getAction().isLeftClick()) {
             return;
         }
 
-        if (!event.getAction().isLeftClick()) {
+        Block block = event.getClickedBlock();
+        if (block == null) {
             return;
         }
 
-        if (event.getClickedBlock() == null) {
+        InteractableRegistry.Interactable interactable = interactables.get(block.getX(), block.getY(), block.getZ());
+        if (interactable == null) {
             return;
         }
 
-        Optional<Door> door = config.doors.stream().filter(d -> d.activationBlock.equals(new BlockPosition(event.getClickedBlock().getLocation()))).findFirst();
-        if (door.isEmpty()) {
+        if (!getPlayers().contains(event.getPlayer())) {
             return;
         }
 
@@ -277,59 +431,234 @@ public class ZombiesGame extends Game<ZombiesGame, ZombiesConfig> {
             return;
         }
 
-        if (openDoors.contains(door.get())) {
-            event.getPlayer().sendMessage(Component.text("This door has already been opened", NamedTextColor.RED));
+        interactable.interact(zombiesPlayer);
+    }
+
+    private void registerInteractables() {
+        interactables.clear();
+
+        for (int door = 0; door < areaGraph.getNumberOfDoors(); door++) {
+            int doorId = door;
+            interactables.register(areaGraph.getDoor(door).activationBlock, player -> openDoor(player, doorId));
+        }
+
+        for (WeaponShop shop : config.weaponShops) {
+            interactables.register(shop.activationBLock, player -> player.handleInteractWithWeaponShop(shop));
+        }
+
+        if (config.powerSwitch != null) {
+            interactables.register(config.powerSwitch.activationBlock, this::turnOnPower);
+        }
+    }
+
+    @Override
+    public void handleConfigChanged() {
+        if (running) {
+            areaGraph = AreaGraph.build(config, areaGraph);
+            registerInteractables();
+            waveSpawner.rebuildSpawnCandidates();
+        }
+    }
+
+    private void openDoor(ZombiesPlayer player, int doorId) {
+        Door door = areaGraph.getDoor(doorId);
+        if (openDoors.contains(door)) {
+            player.getPlayer().sendMessage(Component.text("This door has already been opened", NamedTextColor.RED));
+            return;
+        }
+
+        if (!player.pay(door.gold)) {
             return;
         }
 
-        if (!zombiesPlayer.pay(door.get().gold)) {
+        door.open(world);
+        openDoors.add(door);
+
+        if (replayRecorder != null) {
+            replayRecorder.recordDoorOpened(doorId);
+        }
+        if (areaGraph.openDoor(doorId)) {
+            waveSpawner.rebuildSpawnCandidates();
+        }
+
+        if (navigationGrid != null) {
+            navigationGrid.openDoor(door);
+            flowField.invalidate();
+        }
+    }
+
+    private void turnOnPower(ZombiesPlayer player) {
+        if (powerOn) {
+            player.getPlayer().sendMessage(Component.text("The power is already on", NamedTextColor.RED));
+            return;
+        }
+
+        if (!player.pay(config.powerSwitch.gold)) {
             return;
         }
 
-        door.get().open(world);
-        openDoors.add(door.get());
-        unlockDoorArea(door.get());
+        powerOn = true;
+        getBroadcastAudience().sendMessage(Component.text("%s turned on the power".formatted(player.getPlayer().getName()), NamedTextColor.YELLOW));
+    }
+
+    public boolean isPowerOn() {
+        return powerOn;
     }
 
-    private void unlockDoorArea(Door door) {
-        if (unlockedAreas.contains(door.area1)) {
-            unlockedAreas.add(door.area2);
-        } else if (unlockedAreas.contains(door.area2)) {
-            unlockedAreas.add(door.area1);
+    /**
+     * Returns the components monsters of this type start with in this game
+     */
+    public ComponentTemplate<Monster<?, ?>> getMonsterTemplate(MonsterType<?, ?> type) {
+        if (monsterTemplates == null || !monsterTemplates.containsKey(type)) {
+            return type.getTemplate();
         }
+        return monsterTemplates.get(type);
     }
 
-    @EventHandler
-    public void listenForPlayerBuysOrRefillsWeapon(PlayerInteractEvent event) {
+    public WaveSpawner getWaveSpawner() {
+        return waveSpawner;
+    }
+
+    public boolean isDoorOpen(Door door) {
+        return openDoors.contains(door);
+    }
+
+    public AreaGraph getAreaGraph() {
+        return areaGraph;
+    }
+
+    /**
+     * Runs before the monster and weapon systems so that they can query the positions of this tick. Also captures the
+     * view of every player, so that the systems don't have to query the Bukkit players again.
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void updateSpatialHashes(ServerTickStartEvent event) {
         if (!running) {
             return;
         }
 
-        if (!getPlayers().contains(event.getPlayer())) {
+        playerHash.clear();
+        for (ZombiesPlayer zombiesPlayer : zombiesPlayers) {
+            zombiesPlayer.captureView();
+            if (zombiesPlayer.isAlive()) {
+                playerHash.insert(zombiesPlayer, zombiesPlayer.getX(), zombiesPlayer.getY(), zombiesPlayer.getZ());
+            }
+        }
+
+        monsterHash.clear();
+        for (Monster<?, ?> monster : monsters) {
+            monster.getEntity().getLocation(spatialHashLocation);
+            monsterHash.insert(monster, spatialHashLocation.getX(), spatialHashLocation.getY(), spatialHashLocation.getZ());
+        }
+    }
+
+    /**
+     * Records the positions that the systems will see in this tick
+     */
+    @EventHandler(priority = EventPriority.LOW)
+    public void recordReplayTick(ServerTickStartEvent event) {
+        if (!running || replayRecorder == null) {
             return;
         }
 
-        if (!event.getAction().isLeftClick()) {
+        replayRecorder.recordTick(event.getTickNumber());
+
+        for (int i = 0; i < playerHash.size(); i++) {
+            replayRecorder.recordPlayerPosition(playerHash.getElement(i), playerHash.getX(i), playerHash.getY(i), playerHash.getZ(i));
+        }
+
+        for (int i = 0; i < monsterHash.size(); i++) {
+            replayRecorder.recordMonsterPosition(
+                    monsterHash.getElement(i).getEntity().getEntityId(),
+                    monsterHash.getX(i),
+                    monsterHash.getY(i),
+                    monsterHash.getZ(i)
+            );
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void updateHeldSlot(PlayerItemHeldEvent event) {
+        if (!running) {
             return;
         }
 
-        if (event.getClickedBlock() == null) {
+        ZombiesPlayer zombiesPlayer = getZombiesPlayer(event.getPlayer());
+        if (zombiesPlayer != null) {
+            zombiesPlayer.setHeldSlot(event.getNewSlot());
+        }
+    }
+
+    private void invalidateDisplayedItems(HumanEntity player) {
+        if (!running || !(player instanceof Player bukkitPlayer)) {
             return;
         }
 
-        Optional<WeaponShop> shop = config.weaponShops.stream()
-                .filter(s -> s.activationBLock.equals(new BlockPosition(event.getClickedBlock().getLocation())))
-                .findFirst();
-        if (shop.isEmpty()) {
+        ZombiesPlayer zombiesPlayer = getZombiesPlayer(bukkitPlayer);
+        if (zombiesPlayer != null) {
+            zombiesPlayer.invalidateDisplayedItems();
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void invalidateDisplayedItemsOnClick(InventoryClickEvent event) {
+        invalidateDisplayedItems(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void invalidateDisplayedItemsOnDrag(InventoryDragEvent event) {
+        invalidateDisplayedItems(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void invalidateDisplayedItemsOnDrop(PlayerDropItemEvent event) {
+        invalidateDisplayedItems(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void invalidateDisplayedItemsOnSwap(PlayerSwapHandItemsEvent event) {
+        invalidateDisplayedItems(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void invalidateDisplayedItemsOnDeath(PlayerDeathEvent event) {
+        invalidateDisplayedItems(event.getEntity());
+    }
+
+    @EventHandler
+    public void invalidateDisplayedItemsOnRespawn(PlayerRespawnEvent event) {
+        invalidateDisplayedItems(event.getPlayer());
+    }
+
+    @EventHandler
+    public void tickSystems(ServerTickStartEvent event) {
+        if (!running) {
             return;
         }
 
-        ZombiesPlayer zombiesPlayer = getZombiesPlayer(event.getPlayer());
-        if (zombiesPlayer == null) {
+        waveSpawner.tick();
+        if (virtualHorde != null) {
+            virtualHorde.tick(event.getTickNumber());
+        }
+        systemScheduler.tick(event.getTickNumber());
+    }
+
+    @EventHandler
+    public void resolveShots(ServerTickEndEvent event) {
+        if (!running) {
             return;
         }
 
-        zombiesPlayer.handleInteractWithWeaponShop(shop.get());
+        hitscanEngine.resolve();
+    }
+
+    @EventHandler
+    public void prewarmMonsterPool(ServerTickEndEvent event) {
+        if (!running) {
+            return;
+        }
+
+        monsterPool.prewarm(config.monsterPrewarmPerTick);
     }
 
     @EventHandler
@@ -349,7 +678,52 @@ public class ZombiesGame extends Game<ZombiesGame, ZombiesConfig> {
         return zombiesPlayers;
     }
 
+    /**
+     * Contains the players that are not spectating at the start of the current tick
+     */
+    public SpatialHash<ZombiesPlayer> getPlayerHash() {
+        return playerHash;
+    }
+
+    /**
+     * Contains the monsters that were alive at the start of the current tick
+     */
+    public SpatialHash<Monster<?, ?>> getMonsterHash() {
+        return monsterHash;
+    }
+
+    public ComponentStore<Monster<?, ?>> getMonsterStore() {
+        return monsterStore;
+    }
+
+    public ComponentStore<Weapon<?>> getWeaponStore() {
+        return weaponStore;
+    }
+
+    /**
+     * Returns the recorder of the replay of this game or null if no replay is recorded
+     */
+    public ReplayRecorder getReplayRecorder() {
+        return replayRecorder;
+    }
+
+    public HitscanEngine getHitscanEngine() {
+        return hitscanEngine;
+    }
+
+    public SystemScheduler getSystemScheduler() {
+        return systemScheduler;
+    }
+
+    public NavigationGrid getNavigationGrid() {
+        return navigationGrid;
+    }
+
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
     public ZombiesPlayer getZombiesPlayer(Player player) {
-        return zombiesPlayers.stream().filter(zombiesPlayer -> zombiesPlayer.getPlayer().equals(player)).findFirst().orElse(null);
+        return zombiesPlayersById.get(player.getUniqueId());
     }
 }
@@ -6,26 +6,65 @@ import io.github.lama06.llamagames.zombies.weapon.Weapon;
 import io.github.lama06.llamagames.zombies.weapon.WeaponType;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Location;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
-public class ZombiesPlayer {
+public class ZombiesPlayer implements PlayerView {
     private final ZombiesGame game;
     private final Player player;
     private int health = 20;
     private int gold;
     private final List<Weapon<?>> weapons = new ArrayList<>();
+    private final ItemStack[] displayedItems;
+    private boolean displayedItemsInvalid = true;
+    private final Location location = new Location(null, 0, 0, 0);
+    private int heldSlot;
+    private Weapon<?> weaponInHand;
+    private double x;
+    private double y;
+    private double z;
+    private boolean alive;
 
     public ZombiesPlayer(ZombiesGame game, Player player) {
         this.game = game;
         this.player = player;
 
-        weapons.add(new Knife(game, this, WeaponType.KNIFE));
+        Knife knife = new Knife(game, this, WeaponType.KNIFE);
+        game.getWeaponStore().add(knife, knife.getComponents());
+        weapons.add(knife);
         weapons.add(null);
         weapons.add(null);
+
+        displayedItems = new ItemStack[weapons.size()];
+
+        captureView();
+    }
+
+    /**
+     * Reads the state of the Bukkit player that the systems need in this tick. Called once per tick before the systems
+     * run, see {@link ZombiesGame#updateSpatialHashes}.
+     */
+    public void captureView() {
+        player.getLocation(location);
+        x = location.getX();
+        y = location.getY();
+        z = location.getZ();
+        alive = game.getPlayers().contains(player);
+        setHeldSlot(player.getInventory().getHeldItemSlot());
+    }
+
+    /**
+     * Must be called if the player switches the held item between two ticks
+     */
+    public void setHeldSlot(int slot) {
+        heldSlot = slot;
+        weaponInHand = slot < weapons.size() ? weapons.get(slot) : null;
     }
 
     public boolean pay(int amount) {
@@ -46,7 +85,10 @@ public class ZombiesPlayer {
     public <T extends Weapon<T>> boolean giveWeapon(WeaponType<T> type) {
         for (int i = 0; i < weapons.size(); i++) {
             if (weapons.get(i) == null) {
-                weapons.set(i, type.getCreator().createWeapon(game, this, type));
+                T weapon = type.getCreator().createWeapon(game, this, type);
+                game.getWeaponStore().add(weapon, weapon.getComponents());
+                weapons.set(i, weapon);
+                setHeldSlot(heldSlot);
                 return true;
             }
         }
@@ -82,6 +124,9 @@ public class ZombiesPlayer {
             }
 
             component.totalAmmoRemaining = component.maxTotalAmmo;
+            if (component.magazineAmmoRemaining == 0) {
+                component.startReload(game.getPlugin());
+            }
             player.sendMessage(Component.text("Successfully refilled your weapons ammo", NamedTextColor.GREEN));
         } else {
             if (!pay(shop.gold)) {
@@ -94,6 +139,12 @@ public class ZombiesPlayer {
     }
 
     public void cleanup() {
+        for (Weapon<?> weapon : weapons) {
+            if (weapon != null) {
+                game.getWeaponStore().remove(weapon.getComponents());
+            }
+        }
+
         player.getInventory().clear();
         player.setHealth(player.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue());
         player.setFoodLevel(20);
@@ -101,6 +152,29 @@ public class ZombiesPlayer {
         player.setExp(0);
     }
 
+    public ItemStack getDisplayedItem(int slot) {
+        return displayedItems[slot];
+    }
+
+    public void setDisplayedItem(int slot, ItemStack item) {
+        displayedItems[slot] = item;
+    }
+
+    /**
+     * Makes sure that all weapon slots will be set again, for example because the inventory may have been changed
+     */
+    public void invalidateDisplayedItems() {
+        displayedItemsInvalid = true;
+    }
+
+    public void validateDisplayedItems() {
+        displayedItemsInvalid = false;
+    }
+
+    public boolean areDisplayedItemsInvalid() {
+        return displayedItemsInvalid;
+    }
+
     public int getHealth() {
         return health;
     }
@@ -115,6 +189,7 @@ public class ZombiesPlayer {
 
     public void setHealth(int amount) {
         if (amount <= 0) {
+            alive = false;
             game.killPlayer(player);
             return;
         }
@@ -137,10 +212,36 @@ public class ZombiesPlayer {
     }
 
     public Weapon<?> getWeaponInHand() {
-        int slot = player.getInventory().getHeldItemSlot();
-        if (weapons.size()-1 < slot) {
-            return null;
-        }
-        return weapons.get(slot);
+        return weaponInHand;
+    }
+
+    public int getHeldSlot() {
+        return heldSlot;
+    }
+
+    /**
+     * Returns the x coordinate of the player at the start of the current tick
+     */
+    @Override
+    public double getX() {
+        return x;
+    }
+
+    @Override
+    public double getY() {
+        return y;
+    }
+
+    @Override
+    public double getZ() {
+        return z;
+    }
+
+    /**
+     * Returns whether the player was playing at the start of the current tick and has not been killed since
+     */
+    @Override
+    public boolean isAlive() {
+        return alive;
     }
 }
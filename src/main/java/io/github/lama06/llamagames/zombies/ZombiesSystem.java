@@ -0,0 +1,66 @@
+package io.github.lama06.llamagames.zombies;
+
+import io.github.lama06.llamagames.util.ComponentStore;
+import org.bukkit.Bukkit;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+
+import java.util.Set;
+
+/**
+ * Base class of monster and weapon systems. Systems are ticked by the {@link SystemScheduler} of their game.
+ * They are still registered as listeners so that they can react to other events.
+ */
+public abstract class ZombiesSystem<E> implements Listener {
+    protected final ZombiesGame game;
+    private ComponentStore.Query<E> query;
+
+    public ZombiesSystem(ZombiesGame game) {
+        this.game = game;
+    }
+
+    public void register() {
+        Bukkit.getPluginManager().registerEvents(this, game.getPlugin());
+    }
+
+    public void unregister() {
+        HandlerList.unregisterAll(this);
+    }
+
+    /**
+     * Called once per tick while the game is running, unless no entity has all of the queried components.
+     */
+    public void tick(int tickNumber) { }
+
+    /**
+     * Returns the component types the system iterates over. Systems that don't query any components tick every tick.
+     */
+    public Set<Class<?>> getQueriedComponents() {
+        return Set.of();
+    }
+
+    protected abstract ComponentStore<E> getComponentStore();
+
+    /**
+     * Returns the archetypes of the entities that have all queried components
+     */
+    protected ComponentStore.Query<E> getQuery() {
+        if (query == null) {
+            query = getComponentStore().query(getQueriedComponents());
+        }
+
+        return query;
+    }
+
+    public boolean shouldTick() {
+        if (getQueriedComponents().isEmpty()) {
+            return true;
+        }
+
+        return !getQuery().isEmpty();
+    }
+
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+}
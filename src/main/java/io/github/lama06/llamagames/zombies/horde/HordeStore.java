@@ -0,0 +1,162 @@
+package io.github.lama06.llamagames.zombies.horde;
+
+import io.github.lama06.llamagames.zombies.monster.MonsterType;
+
+import java.util.*;
+
+/**
+ * Stores the monsters of a virtual horde as plain records, one array per field. Records are removed by moving the last
+ * record into their place, so the index of a record changes when another one is removed.
+ */
+public class HordeStore {
+    /**
+     * The health of records whose monster has never been materialized. They spawn with the full health of their type.
+     */
+    public static final int FULL_HEALTH = -1;
+
+    private final List<MonsterType<?, ?>> types = new ArrayList<>();
+    private final Map<MonsterType<?, ?>, Integer> typeIds = new HashMap<>();
+    private int size = 0;
+    private double[] x = new double[64];
+    private double[] y = new double[64];
+    private double[] z = new double[64];
+    private int[] health = new int[64];
+    private int[] typeIndices = new int[64];
+    private int[] areas = new int[64];
+    private int[] destinations = new int[64];
+    private double[] travel = new double[64];
+    private boolean[] materializationRequested = new boolean[64];
+    private int numberOfMaterializationRequests = 0;
+
+    /**
+     * Adds a record that isn't travelling
+     *
+     * @param area the id of the area in which the record is or -1 if it still has to be placed
+     */
+    public int add(MonsterType<?, ?> type, double x, double y, double z, int area, int health) {
+        if (size == this.x.length) {
+            int capacity = size * 2;
+            this.x = Arrays.copyOf(this.x, capacity);
+            this.y = Arrays.copyOf(this.y, capacity);
+            this.z = Arrays.copyOf(this.z, capacity);
+            this.health = Arrays.copyOf(this.health, capacity);
+            typeIndices = Arrays.copyOf(typeIndices, capacity);
+            areas = Arrays.copyOf(areas, capacity);
+            destinations = Arrays.copyOf(destinations, capacity);
+            travel = Arrays.copyOf(travel, capacity);
+            materializationRequested = Arrays.copyOf(materializationRequested, capacity);
+        }
+
+        int record = size++;
+        this.x[record] = x;
+        this.y[record] = y;
+        this.z[record] = z;
+        this.health[record] = health;
+        typeIndices[record] = typeIds.computeIfAbsent(type, t -> {
+            types.add(t);
+            return types.size() - 1;
+        });
+        areas[record] = area;
+        destinations[record] = -1;
+        travel[record] = 0;
+        materializationRequested[record] = false;
+        return record;
+    }
+
+    public void remove(int record) {
+        if (materializationRequested[record]) {
+            numberOfMaterializationRequests--;
+        }
+
+        int last = --size;
+        x[record] = x[last];
+        y[record] = y[last];
+        z[record] = z[last];
+        health[record] = health[last];
+        typeIndices[record] = typeIndices[last];
+        areas[record] = areas[last];
+        destinations[record] = destinations[last];
+        travel[record] = travel[last];
+        materializationRequested[record] = materializationRequested[last];
+    }
+
+    public void clear() {
+        size = 0;
+        numberOfMaterializationRequests = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getX(int record) {
+        return x[record];
+    }
+
+    public double getY(int record) {
+        return y[record];
+    }
+
+    public double getZ(int record) {
+        return z[record];
+    }
+
+    public void setPosition(int record, double x, double y, double z) {
+        this.x[record] = x;
+        this.y[record] = y;
+        this.z[record] = z;
+    }
+
+    /**
+     * Returns the id of the area in which the record is or -1 if it still has to be placed
+     */
+    public int getArea(int record) {
+        return areas[record];
+    }
+
+    public void setArea(int record, int area) {
+        areas[record] = area;
+    }
+
+    /**
+     * Returns the spawn position to which the record is travelling or -1 if it isn't travelling
+     */
+    public int getDestination(int record) {
+        return destinations[record];
+    }
+
+    /**
+     * Returns the number of blocks that the record still has to travel to reach its destination
+     */
+    public double getTravel(int record) {
+        return travel[record];
+    }
+
+    public void setDestination(int record, int destination, double travel) {
+        destinations[record] = destination;
+        this.travel[record] = travel;
+    }
+
+    public int getHealth(int record) {
+        return health[record];
+    }
+
+    public MonsterType<?, ?> getType(int record) {
+        return types.get(typeIndices[record]);
+    }
+
+    public void requestMaterialization(int record) {
+        if (!materializationRequested[record]) {
+            materializationRequested[record] = true;
+            numberOfMaterializationRequests++;
+        }
+    }
+
+    public boolean isMaterializationRequested(int record) {
+        return materializationRequested[record];
+    }
+
+    public int getNumberOfMaterializationRequests() {
+        return numberOfMaterializationRequests;
+    }
+}
@@ -0,0 +1,386 @@
+package io.github.lama06.llamagames.zombies.horde;
+
+import io.github.lama06.llamagames.util.BlockArea;
+import io.github.lama06.llamagames.util.EntityPosition;
+import io.github.lama06.llamagames.util.SpatialHash;
+import io.github.lama06.llamagames.zombies.AdditionalZombieSpawnLocation;
+import io.github.lama06.llamagames.zombies.AreaGraph;
+import io.github.lama06.llamagames.zombies.SpawnRate;
+import io.github.lama06.llamagames.zombies.Window;
+import io.github.lama06.llamagames.zombies.ZombiesConfig;
+import io.github.lama06.llamagames.zombies.ZombiesGame;
+import io.github.lama06.llamagames.zombies.ZombiesPlayer;
+import io.github.lama06.llamagames.zombies.monster.HealthComponent;
+import io.github.lama06.llamagames.zombies.monster.Monster;
+import io.github.lama06.llamagames.zombies.monster.MonsterType;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simulates the monsters of a round as records in a {@link HordeStore} instead of entities. Records move over the
+ * {@link AreaGraph} of the map: every {@link #SIMULATION_INTERVAL} ticks a record travels through the open doors towards
+ * the nearest area with a player and arrives at the spawn position of the next area with spawn positions that is closest
+ * to the door. Players and monsters belong to the area of their nearest spawn position. Records in the area of a player
+ * or within {@link ZombiesConfig#hordeMaterializeRadius} blocks of a player are turned into real monsters at their
+ * position, at most {@link ZombiesConfig#hordeMaterializePerTick} per tick and only while fewer than
+ * {@link ZombiesConfig#hordeMaxMaterialized} monsters are alive. Monsters that get far away from all players and aren't
+ * in the area of a player are turned back into records and keep their health.
+ */
+public class VirtualHorde {
+    private static final int SIMULATION_INTERVAL = 10;
+    private static final double DEMATERIALIZATION_RADIUS_FACTOR = 1.5;
+
+    private final ZombiesGame game;
+    private final HordeStore store = new HordeStore();
+    private final List<Monster<?, ?>> farMonsters = new ArrayList<>();
+    private final Location location = new Location(null, 0, 0, 0);
+    private int nextRecord = 0;
+
+    private AreaGraph areaGraph;
+    private EntityPosition[] spawnPositions = new EntityPosition[0];
+    private int[] spawnPositionAreas = new int[0];
+    /**
+     * The number of doors between each area and the nearest area with a player or -1 if no player can be reached
+     */
+    private int[] playerDistances = new int[0];
+    private int[] nextAreas = new int[0];
+    private int[] nextDoors = new int[0];
+    private int[] queue = new int[0];
+    private boolean routesOutdated = true;
+
+    public VirtualHorde(ZombiesGame game) {
+        this.game = game;
+    }
+
+    public void startWave(SpawnRate spawnRate) {
+        updateSpawnPositions();
+
+        for (Map.Entry<MonsterType<?, ?>, Integer> entry : spawnRate.monsters.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                // Records that can't be placed yet stay in the store until a spawn candidate is unlocked
+                place(store.add(entry.getKey(), 0, 0, 0, -1, HordeStore.FULL_HEALTH));
+            }
+        }
+    }
+
+    public void tick(int tickNumber) {
+        updateSpawnPositions();
+
+        SpatialHash<ZombiesPlayer> players = game.getPlayerHash();
+        if (players.size() == 0) {
+            return;
+        }
+
+        if (routesOutdated || tickNumber % SIMULATION_INTERVAL == 0) {
+            updateRoutes(players);
+        }
+
+        simulate(players);
+
+        if (tickNumber % SIMULATION_INTERVAL == 0) {
+            dematerialize(players);
+        }
+
+        materialize();
+    }
+
+    /**
+     * Collects the spawn positions of all areas when the area graph has been rebuilt. The ids of the areas may have
+     * changed, so all records are assigned to the area of their nearest spawn position again.
+     */
+    private void updateSpawnPositions() {
+        if (game.getAreaGraph() == areaGraph) {
+            return;
+        }
+
+        areaGraph = game.getAreaGraph();
+        ZombiesConfig config = game.getConfig();
+        List<EntityPosition> positions = new ArrayList<>();
+        List<Integer> areas = new ArrayList<>();
+
+        for (Window window : config.windows) {
+            positions.add(window.spawnLocation);
+            areas.add(areaGraph.getId(window.area));
+        }
+        for (AdditionalZombieSpawnLocation spawnLocation : config.additionalZombieSpawnLocations) {
+            positions.add(spawnLocation.position);
+            areas.add(areaGraph.getId(spawnLocation.area));
+        }
+
+        spawnPositions = positions.toArray(new EntityPosition[0]);
+        spawnPositionAreas = areas.stream().mapToInt(Integer::intValue).toArray();
+
+        int numberOfAreas = areaGraph.getNumberOfAreas();
+        playerDistances = new int[numberOfAreas];
+        nextAreas = new int[numberOfAreas];
+        nextDoors = new int[numberOfAreas];
+        queue = new int[numberOfAreas];
+        routesOutdated = true;
+
+        for (int record = 0; record < store.size(); record++) {
+            if (store.getArea(record) == -1) {
+                continue;
+            }
+
+            int spawnPosition = getNearestSpawnPosition(-1, store.getX(record), store.getY(record), store.getZ(record));
+            store.setArea(record, spawnPosition == -1 ? -1 : spawnPositionAreas[spawnPosition]);
+            store.setDestination(record, -1, 0);
+        }
+    }
+
+    /**
+     * Returns the nearest spawn position in an unlocked area or -1 if there is none
+     *
+     * @param area the area of the spawn position or -1 for any area
+     */
+    private int getNearestSpawnPosition(int area, double x, double y, double z) {
+        int nearest = -1;
+        double nearestDistance = Double.MAX_VALUE;
+
+        for (int i = 0; i < spawnPositions.length; i++) {
+            if ((area != -1 && spawnPositionAreas[i] != area) || !areaGraph.isUnlocked(spawnPositionAreas[i])) {
+                continue;
+            }
+
+            EntityPosition position = spawnPositions[i];
+            double distance = getDistance(x, y, z, position.getX(), position.getY(), position.getZ());
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+
+        return nearest;
+    }
+
+    /**
+     * Searches the areas that are connected by open doors, starting at the areas of the players
+     */
+    private void updateRoutes(SpatialHash<ZombiesPlayer> players) {
+        routesOutdated = false;
+        Arrays.fill(playerDistances, -1);
+        int head = 0;
+        int tail = 0;
+
+        for (int player = 0; player < players.size(); player++) {
+            int spawnPosition = getNearestSpawnPosition(-1, players.getX(player), players.getY(player), players.getZ(player));
+            if (spawnPosition == -1) {
+                continue;
+            }
+
+            int area = spawnPositionAreas[spawnPosition];
+            if (playerDistances[area] == -1) {
+                playerDistances[area] = 0;
+                queue[tail++] = area;
+            }
+        }
+
+        while (head < tail) {
+            int area = queue[head++];
+
+            for (int door = 0; door < areaGraph.getNumberOfDoors(); door++) {
+                if (!game.isDoorOpen(areaGraph.getDoor(door))) {
+                    continue;
+                }
+
+                int area1 = areaGraph.getDoorArea1(door);
+                int area2 = areaGraph.getDoorArea2(door);
+                int other = area1 == area ? area2 : area2 == area ? area1 : -1;
+                if (other == -1 || !areaGraph.isUnlocked(other) || playerDistances[other] != -1) {
+                    continue;
+                }
+
+                playerDistances[other] = playerDistances[area] + 1;
+                nextAreas[other] = area;
+                nextDoors[other] = door;
+                queue[tail++] = other;
+            }
+        }
+    }
+
+    /**
+     * Moves a record that hasn't been placed yet to a random spawn candidate of its type
+     */
+    private void place(int record) {
+        EntityPosition position = game.getWaveSpawner().getRandomSpawnCandidate(store.getType(record).getSpawnLocation());
+        if (position == null) {
+            return;
+        }
+
+        int spawnPosition = getNearestSpawnPosition(-1, position.getX(), position.getY(), position.getZ());
+        if (spawnPosition == -1) {
+            return;
+        }
+
+        store.setPosition(record, position.getX(), position.getY(), position.getZ());
+        store.setArea(record, spawnPositionAreas[spawnPosition]);
+    }
+
+    /**
+     * Advances the next slice of records so that every record is advanced once per simulation interval
+     */
+    private void simulate(SpatialHash<ZombiesPlayer> players) {
+        int slice = (store.size() + SIMULATION_INTERVAL - 1) / SIMULATION_INTERVAL;
+
+        for (int i = 0; i < slice; i++) {
+            if (nextRecord >= store.size()) {
+                nextRecord = 0;
+            }
+
+            advance(nextRecord++, players);
+        }
+    }
+
+    private void advance(int record, SpatialHash<ZombiesPlayer> players) {
+        if (store.getArea(record) == -1) {
+            place(record);
+            return;
+        }
+
+        ZombiesConfig config = game.getConfig();
+
+        if (store.getDestination(record) == -1 && playerDistances[store.getArea(record)] > 0) {
+            planRoute(record);
+        }
+
+        int destination = store.getDestination(record);
+        if (destination != -1) {
+            double travel = store.getTravel(record) - config.hordeBlocksPerSecond / 20D * SIMULATION_INTERVAL;
+
+            if (travel > 0) {
+                store.setDestination(record, destination, travel);
+            } else {
+                EntityPosition position = spawnPositions[destination];
+                store.setPosition(record, position.getX(), position.getY(), position.getZ());
+                store.setArea(record, spawnPositionAreas[destination]);
+                store.setDestination(record, -1, 0);
+            }
+        }
+
+        if (playerDistances[store.getArea(record)] == 0 ||
+                players.queryNearest(store.getX(record), store.getY(record), store.getZ(record), config.hordeMaterializeRadius) != -1) {
+            store.requestMaterialization(record);
+        }
+    }
+
+    /**
+     * Sets the destination of the record to the first spawn position on the way to the nearest player. Areas without
+     * spawn positions are passed through.
+     */
+    private void planRoute(int record) {
+        double x = store.getX(record);
+        double y = store.getY(record);
+        double z = store.getZ(record);
+        double length = 0;
+        int area = store.getArea(record);
+
+        // Every area of a player has a spawn position, so the loop ends at the latest in such an area
+        while (playerDistances[area] > 0) {
+            BlockArea door = areaGraph.getDoor(nextDoors[area]).blocks;
+            double doorX = (door.getLowerX() + door.getUpperX() + 1) / 2D;
+            double doorY = door.getLowerY();
+            double doorZ = (door.getLowerZ() + door.getUpperZ() + 1) / 2D;
+            length += getDistance(x, y, z, doorX, doorY, doorZ);
+            x = doorX;
+            y = doorY;
+            z = doorZ;
+            area = nextAreas[area];
+
+            int spawnPosition = getNearestSpawnPosition(area, x, y, z);
+            if (spawnPosition != -1) {
+                EntityPosition position = spawnPositions[spawnPosition];
+                length += getDistance(x, y, z, position.getX(), position.getY(), position.getZ());
+                store.setDestination(record, spawnPosition, length);
+                return;
+            }
+        }
+    }
+
+    private static double getDistance(double x1, double y1, double z1, double x2, double y2, double z2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double dz = z2 - z1;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private void materialize() {
+        if (store.getNumberOfMaterializationRequests() == 0) {
+            return;
+        }
+
+        ZombiesConfig config = game.getConfig();
+        int budget = config.hordeMaterializePerTick;
+        int maxMonsters = Math.min(config.hordeMaxMaterialized, game.getMaxMonsters());
+
+        int record = 0;
+        while (budget > 0 && record < store.size() && game.getMonsters().size() < maxMonsters) {
+            if (!store.isMaterializationRequested(record)) {
+                record++;
+                continue;
+            }
+
+            EntityPosition position = new EntityPosition(store.getX(record), store.getY(record), store.getZ(record));
+            Monster<?, ?> monster = game.spawnMonster(store.getType(record), position);
+
+            int health = store.getHealth(record);
+            HealthComponent healthComponent = monster.getComponents().getComponent(HealthComponent.class);
+            if (health != HordeStore.FULL_HEALTH && healthComponent != null) {
+                healthComponent.health = health;
+            }
+
+            // The last record is moved to this index, so the index is not incremented
+            store.remove(record);
+            budget--;
+        }
+    }
+
+    private void dematerialize(SpatialHash<ZombiesPlayer> players) {
+        double radius = game.getConfig().hordeMaterializeRadius * DEMATERIALIZATION_RADIUS_FACTOR;
+
+        for (Monster<?, ?> monster : game.getMonsters()) {
+            monster.getEntity().getLocation(location);
+            if (players.queryNearest(location.getX(), location.getY(), location.getZ(), radius) == -1) {
+                farMonsters.add(monster);
+            }
+        }
+
+        for (Monster<?, ?> monster : farMonsters) {
+            HealthComponent healthComponent = monster.getComponents().getComponent(HealthComponent.class);
+            int health = healthComponent == null ? HordeStore.FULL_HEALTH : healthComponent.health;
+            // The monster has already been queued to die
+            if (healthComponent != null && health <= 0) {
+                continue;
+            }
+
+            monster.getEntity().getLocation(location);
+            int spawnPosition = getNearestSpawnPosition(-1, location.getX(), location.getY(), location.getZ());
+            if (spawnPosition == -1 || playerDistances[spawnPositionAreas[spawnPosition]] == 0) {
+                continue;
+            }
+
+            // The monster is standing there, so the record can be materialized at its position again
+            store.add(monster.getType(), location.getX(), location.getY(), location.getZ(), spawnPositionAreas[spawnPosition], health);
+            game.despawnMonster(monster);
+        }
+
+        farMonsters.clear();
+    }
+
+    public boolean isEmpty() {
+        return store.size() == 0;
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public void clear() {
+        store.clear();
+        farMonsters.clear();
+        nextRecord = 0;
+    }
+}
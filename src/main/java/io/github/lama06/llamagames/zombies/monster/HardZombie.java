@@ -8,24 +8,10 @@ import org.bukkit.entity.Zombie;
 import org.bukkit.inventory.ItemStack;
 
 public class HardZombie extends Monster<HardZombie, Zombie> {
-    public static final MonsterType<HardZombie, Zombie> TYPE = new MonsterType<>(
-            "hard_zombie",
-            MonsterSpawnLocation.WINDOW,
-            Zombie.class,
-            HardZombie::new
-    );
-
     public HardZombie(ZombiesGame game, MonsterType<HardZombie, Zombie> type, World world, EntityPosition position) {
         super(game, type, world, position);
     }
 
-    @Override
-    public void initComponents() {
-        components.addComponent(new HealthComponent(25));
-        components.addComponent(new MeleeAttackPlayerComponent(7, 3, 40));
-        components.addComponent(new PathfinderComponent());
-    }
-
     @Override
     public void onSpawned() {
         entity.setAdult();
@@ -1,62 +1,87 @@
 package io.github.lama06.llamagames.zombies.monster;
 
-import com.destroystokyo.paper.event.server.ServerTickStartEvent;
+import io.github.lama06.llamagames.util.ComponentPrototype;
 import io.github.lama06.llamagames.zombies.ZombiesGame;
 import io.github.lama06.llamagames.zombies.ZombiesPlayer;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayDeque;
 
-public class HealthComponent {
+public class HealthComponent implements ComponentPrototype<Monster<?, ?>> {
+    private final Monster<?, ?> owner;
     public int health;
     public Player lastDamageSource;
 
-    public HealthComponent(int initialHealth) {
+    public HealthComponent(Monster<?, ?> owner, int initialHealth) {
+        this.owner = owner;
         this.health = initialHealth;
     }
 
+    /**
+     * Queues the death of the monster as soon as its health reaches zero
+     */
     public void damage(int amount) {
+        if (health <= 0) {
+            return;
+        }
+
         health -= amount;
+
+        if (health <= 0) {
+            owner.getGame().getDeathQueue().add(owner);
+        }
     }
 
+    /**
+     * Like {@link #damage(int)}, but also remembers the player for the kill unless the monster is already dead
+     */
     public void damage(int amount, Player lastDamageSource) {
-        damage(amount);
+        // The player who dealt the killing blow keeps the credit
+        if (health <= 0) {
+            return;
+        }
+
         this.lastDamageSource = lastDamageSource;
+        damage(amount);
     }
 
+    @Override
+    public HealthComponent instantiate(Monster<?, ?> owner) {
+        return new HealthComponent(owner, health);
+    }
+
+    /**
+     * Kills the monsters in the death queue of the game and credits the player who dealt the last damage
+     */
     public static class RemoveDeadZombiesSystem extends MonsterSystem {
         public RemoveDeadZombiesSystem(ZombiesGame game) {
             super(game);
         }
 
-        @EventHandler
-        public void tick(ServerTickStartEvent event) {
-            record DeadMonsterData(Monster<?, ?> monster, ZombiesPlayer killedBy) { }
+        @Override
+        public void tick(int tickNumber) {
+            ArrayDeque<Monster<?, ?>> deathQueue = game.getDeathQueue();
 
-            if (!game.isRunning()) return;
+            while (!deathQueue.isEmpty()) {
+                Monster<?, ?> monster = deathQueue.poll();
 
-            Set<DeadMonsterData> deadMonsters = new HashSet<>(); // Avoid ConcurrentModificationException
-
-            for (Monster<?, ?> monster : game.getMonsters()) {
-                HealthComponent component = monster.getComponents().getComponent(HealthComponent.class);
-                if (component == null) {
+                // The monster may have been removed in another way since it was queued
+                if (!game.getMonsters().contains(monster)) {
                     continue;
                 }
 
+                HealthComponent component = monster.getComponents().getComponent(HealthComponent.class);
                 ZombiesPlayer killer = null;
-                if (component.lastDamageSource != null) {
+                if (component != null && component.lastDamageSource != null) {
                     killer = game.getZombiesPlayer(component.lastDamageSource);
                 }
 
-                if (component.health <= 0) {
-                    deadMonsters.add(new DeadMonsterData(monster, killer));
-                }
-            }
+                game.killMonster(monster, killer);
 
-            for (DeadMonsterData deadMonster : deadMonsters) {
-                game.killMonster(deadMonster.monster, deadMonster.killedBy);
+                // Killing the last monster starts the next round, which may end the game
+                if (!game.isRunning()) {
+                    return;
+                }
             }
         }
     }
@@ -0,0 +1,90 @@
+package io.github.lama06.llamagames.zombies.monster;
+
+import io.github.lama06.llamagames.util.SpatialHash;
+import io.github.lama06.llamagames.zombies.ZombiesConfig;
+import io.github.lama06.llamagames.zombies.ZombiesGame;
+import io.github.lama06.llamagames.zombies.ZombiesPlayer;
+import io.github.lama06.llamagames.zombies.navigation.FlowField;
+import io.github.lama06.llamagames.zombies.navigation.NavigationGrid;
+import org.bukkit.Location;
+
+/**
+ * Assigns a {@link MonsterLod} to every monster. Monsters within {@link ZombiesConfig#lodFullDistance} blocks of a
+ * player are fully simulated. Monsters further away are only simulated every {@link ZombiesConfig#lodReducedInterval}
+ * ticks. If the game has a {@link FlowField}, monsters that can't reach any player, for example because they are
+ * behind a closed door, are dormant and only simulated every {@link ZombiesConfig#lodDormantInterval} ticks.
+ * <p>
+ * The tier of each monster is updated every {@link #UPDATE_INTERVAL} ticks, spread across the ticks by entity id.
+ * This system runs after the pathfinder so that the flow field has been updated for this tick.
+ */
+public class LevelOfDetailSystem extends MonsterSystem {
+    private static final int UPDATE_INTERVAL = 10;
+
+    private final Location location = new Location(null, 0, 0, 0);
+
+    public LevelOfDetailSystem(ZombiesGame game) {
+        super(game);
+    }
+
+    @Override
+    public void tick(int tickNumber) {
+        SpatialHash<ZombiesPlayer> players = game.getPlayerHash();
+        if (players.size() == 0) {
+            return;
+        }
+
+        ZombiesConfig config = game.getConfig();
+        FlowField flowField = game.getFlowField();
+        NavigationGrid grid = game.getNavigationGrid();
+
+        for (Monster<?, ?> monster : game.getMonsters()) {
+            if (!shouldUpdate(tickNumber, monster.getEntity().getEntityId())) {
+                continue;
+            }
+
+            monster.getEntity().getLocation(location);
+            MonsterLod lod = selectLod(players, location.getX(), location.getY(), location.getZ(), config, flowField, grid);
+            monster.setLod(lod, getSimulationInterval(lod, config));
+        }
+    }
+
+    public static boolean shouldUpdate(int tickNumber, int entityId) {
+        return (tickNumber + entityId) % UPDATE_INTERVAL == 0;
+    }
+
+    /**
+     * Returns the tier of a monster at the position. Doesn't access the server.
+     *
+     * @param flowField the flow field of the game or null if it has none
+     */
+    public static MonsterLod selectLod(
+            SpatialHash<?> players,
+            double x,
+            double y,
+            double z,
+            ZombiesConfig config,
+            FlowField flowField,
+            NavigationGrid grid
+    ) {
+        if (players.queryNearest(x, y, z, config.lodFullDistance) != -1) {
+            return MonsterLod.FULL;
+        }
+
+        if (flowField != null) {
+            int cell = grid.getCell(x, y, z);
+            if (cell != -1 && flowField.getDistance(cell) == -1) {
+                return MonsterLod.DORMANT;
+            }
+        }
+
+        return MonsterLod.REDUCED;
+    }
+
+    public static int getSimulationInterval(MonsterLod lod, ZombiesConfig config) {
+        return switch (lod) {
+            case FULL -> 1;
+            case REDUCED -> config.lodReducedInterval;
+            case DORMANT -> config.lodDormantInterval;
+        };
+    }
+}
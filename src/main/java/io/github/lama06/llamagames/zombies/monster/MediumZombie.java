@@ -8,24 +8,10 @@ import org.bukkit.entity.Zombie;
 import org.bukkit.inventory.ItemStack;
 
 public class MediumZombie extends Monster<MediumZombie, Zombie> {
-    public static final MonsterType<MediumZombie, Zombie> TYPE = new MonsterType<>(
-            "medium_zombie",
-            MonsterSpawnLocation.WINDOW,
-            Zombie.class,
-            MediumZombie::new
-    );
-
     public MediumZombie(ZombiesGame game, MonsterType<MediumZombie, Zombie> type, World world, EntityPosition position) {
         super(game, type, world, position);
     }
 
-    @Override
-    public void initComponents() {
-        components.addComponent(new HealthComponent(20));
-        components.addComponent(new MeleeAttackPlayerComponent(4, 4, 30));
-        components.addComponent(new PathfinderComponent());
-    }
-
     @Override
     public void onSpawned() {
         entity.setAdult();
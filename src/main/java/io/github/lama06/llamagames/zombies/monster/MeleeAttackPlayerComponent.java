@@ -1,13 +1,19 @@
 package io.github.lama06.llamagames.zombies.monster;
 
-import com.destroystokyo.paper.event.server.ServerTickStartEvent;
-import io.github.lama06.llamagames.util.EntityPosition;
+import io.github.lama06.llamagames.util.ComponentPrototype;
+import io.github.lama06.llamagames.util.ComponentStore;
+import io.github.lama06.llamagames.util.SpatialHash;
+import io.github.lama06.llamagames.zombies.PlayerView;
 import io.github.lama06.llamagames.zombies.ZombiesGame;
 import io.github.lama06.llamagames.zombies.ZombiesPlayer;
+import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.event.EventHandler;
 
-public class MeleeAttackPlayerComponent {
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class MeleeAttackPlayerComponent implements ComponentPrototype<Object> {
     public int damage;
     public double maxAttackRange;
     public int attackCooldown;
@@ -19,44 +25,103 @@ public class MeleeAttackPlayerComponent {
         this.attackCooldown = attackCooldown;
     }
 
+    @Override
+    public MeleeAttackPlayerComponent instantiate(Object owner) {
+        return new MeleeAttackPlayerComponent(damage, maxAttackRange, attackCooldown);
+    }
+
+    /**
+     * Counts down the cooldown and returns whether the monster can attack in this tick
+     */
+    public boolean tickCooldown(int simulationInterval) {
+        if (remainingAttackCooldown > 0) {
+            remainingAttackCooldown -= simulationInterval;
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the player that the monster at the position attacks or null if no player is in range. The cooldown is
+     * restarted if a player is found. Doesn't access the server.
+     */
+    public <P extends PlayerView> P findTarget(SpatialHash<P> players, double x, double y, double z, List<P> nearbyPlayers) {
+        P target = null;
+
+        for (P player : players.queryRadius(x, y, z, maxAttackRange, nearbyPlayers)) {
+            // The player may have been killed earlier in this tick
+            if (!player.isAlive()) {
+                continue;
+            }
+
+            double distance = Math.abs(player.getX() - x) + Math.abs(player.getY() - y) + Math.abs(player.getZ() - z);
+            if (distance <= maxAttackRange) {
+                target = player;
+                break;
+            }
+        }
+
+        nearbyPlayers.clear();
+        if (target != null) {
+            remainingAttackCooldown = attackCooldown;
+        }
+        return target;
+    }
+
     public static class MeleeAttackPlayerSystem extends MonsterSystem {
+        private final List<ZombiesPlayer> nearbyPlayers = new ArrayList<>();
+        private final Location location = new Location(null, 0, 0, 0);
+
         public MeleeAttackPlayerSystem(ZombiesGame game) {
             super(game);
         }
 
-        @EventHandler
-        public void tick(ServerTickStartEvent event) {
-            if (!game.isRunning()) return;
+        @Override
+        public Set<Class<?>> getQueriedComponents() {
+            return Set.of(MeleeAttackPlayerComponent.class);
+        }
 
-            for (Monster<?, ?> monster : game.getMonsters()) {
-                MeleeAttackPlayerComponent component = monster.getComponents().getComponent(MeleeAttackPlayerComponent.class);
-                if (component == null) {
-                    continue;
-                }
+        @Override
+        public void tick(int tickNumber) {
+            for (ComponentStore.Archetype<Monster<?, ?>> archetype : getQuery().getArchetypes()) {
+                Object[] components = archetype.getColumn(MeleeAttackPlayerComponent.class);
 
-                if (component.remainingAttackCooldown > 0) {
-                    component.remainingAttackCooldown--;
-                    continue;
-                }
+                for (int row = 0; row < archetype.size(); row++) {
+                    MeleeAttackPlayerComponent component = (MeleeAttackPlayerComponent) components[row];
+                    Monster<?, ?> monster = archetype.getEntity(row);
 
-                if (!(monster.getEntity() instanceof LivingEntity entity)) {
-                    continue;
-                }
+                    if (!monster.shouldSimulate(tickNumber)) {
+                        continue;
+                    }
+
+                    if (!component.tickCooldown(monster.getSimulationInterval())) {
+                        continue;
+                    }
 
-                EntityPosition entityPosition = new EntityPosition(entity.getLocation());
-                for (ZombiesPlayer player : game.getZombiesPlayers()) {
-                    EntityPosition playerPosition = new EntityPosition(player.getPlayer().getLocation());
+                    if (!(monster.getEntity() instanceof LivingEntity entity)) {
+                        continue;
+                    }
 
-                    if (entityPosition.getDistanceTo(playerPosition).sum() <= component.maxAttackRange) {
-                        player.damage(component.damage);
+                    entity.getLocation(location);
+                    ZombiesPlayer target = component.findTarget(
+                            game.getPlayerHash(),
+                            location.getX(),
+                            location.getY(),
+                            location.getZ(),
+                            nearbyPlayers
+                    );
+                    if (target == null) {
+                        continue;
+                    }
 
-                        // The game may have ended because the player may have been killed by the damage.
-                        // Continuing may result in a NullPointerException because the value of game.getZombiesPlayers()
-                        // will be set to null in the handleGameEnded method of the ZombiesGame class.
-                        if (!game.isRunning()) return;
+                    target.damage(component.damage);
 
-                        component.remainingAttackCooldown = component.attackCooldown;
-                        break;
+                    // The game may have ended because the player may have been killed by the damage.
+                    // Continuing may result in a NullPointerException because the state of the game will be reset
+                    // in the handleGameEnded method of the ZombiesGame class.
+                    if (!game.isRunning()) {
+                        return;
                     }
                 }
             }
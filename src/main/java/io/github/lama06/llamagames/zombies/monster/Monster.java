@@ -5,14 +5,23 @@ import io.github.lama06.llamagames.util.ComponentContainer;
 import io.github.lama06.llamagames.zombies.MonsterSpawnEvent;
 import io.github.lama06.llamagames.zombies.ZombiesGame;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Mob;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.util.Vector;
 
 public abstract class Monster<T extends Monster<T, E>, E extends Entity> {
     protected final ZombiesGame game;
     protected final ComponentContainer components = new ComponentContainer();
     protected final MonsterType<T, E> type;
     protected E entity;
+    private MonsterLod lod = MonsterLod.FULL;
+    private int simulationInterval = 1;
 
     public Monster(ZombiesGame game, MonsterType<T, E> type, World world, EntityPosition position) {
         this.game = game;
@@ -26,18 +35,111 @@ public abstract class Monster<T extends Monster<T, E>, E extends Entity> {
         onSpawned();
     }
 
-    public abstract void initComponents();
+    public void initComponents() {
+        game.getMonsterTemplate(type).instantiate(this, components);
+    }
 
     public void onSpawned() { }
 
+    /**
+     * Brings a monster from the {@link MonsterPool} back into the game. The components are created again.
+     */
+    public void respawn(EntityPosition position) {
+        initComponents();
+        setLod(MonsterLod.FULL, 1);
+
+        if (entity instanceof LivingEntity livingEntity) {
+            livingEntity.setAI(true);
+            livingEntity.setInvisible(false);
+            livingEntity.setCollidable(true);
+            AttributeInstance maxHealth = livingEntity.getAttribute(Attribute.GENERIC_MAX_HEALTH);
+            if (maxHealth != null) {
+                livingEntity.setHealth(maxHealth.getValue());
+            }
+        }
+        entity.setSilent(false);
+        entity.setInvulnerable(false);
+        entity.setGravity(true);
+        entity.setFireTicks(0);
+        entity.teleport(position.asLocation(entity.getWorld()));
+
+        Bukkit.getPluginManager().callEvent(new MonsterSpawnEvent(game, this, true));
+        onSpawned();
+    }
+
+    /**
+     * Hides the entity at the given location until it is respawned
+     */
+    public void park(Location location) {
+        if (entity instanceof Mob mob) {
+            mob.getPathfinder().stopPathfinding();
+            mob.setTarget(null);
+        }
+        if (entity instanceof LivingEntity livingEntity) {
+            livingEntity.setAI(false);
+            livingEntity.setInvisible(true);
+            livingEntity.setCollidable(false);
+            livingEntity.setRemoveWhenFarAway(false);
+            // Invisible entities still show their equipment. onSpawned() equips the entity again when it is respawned.
+            EntityEquipment equipment = livingEntity.getEquipment();
+            if (equipment != null) {
+                equipment.clear();
+            }
+        }
+        entity.setSilent(true);
+        entity.setInvulnerable(true);
+        entity.setGravity(false);
+        entity.setFireTicks(0);
+        entity.setVelocity(new Vector());
+        // Parked entities are removed instead of being saved if their chunk is unloaded
+        entity.setPersistent(false);
+        entity.teleport(location);
+    }
+
     public void remove() {
         entity.remove();
     }
 
+    public void setLod(MonsterLod lod, int simulationInterval) {
+        if (this.lod != lod && entity instanceof Mob mob) {
+            mob.setAware(lod != MonsterLod.DORMANT);
+        }
+
+        this.lod = lod;
+        this.simulationInterval = Math.max(1, simulationInterval);
+    }
+
+    public MonsterLod getLod() {
+        return lod;
+    }
+
+    /**
+     * Returns the number of ticks between two ticks in which the systems simulate this monster
+     */
+    public int getSimulationInterval() {
+        return simulationInterval;
+    }
+
+    /**
+     * Returns whether the systems should simulate this monster in this tick. Monsters with the same interval are
+     * spread across the ticks by their entity id.
+     */
+    public boolean shouldSimulate(int tickNumber) {
+        return shouldSimulate(tickNumber, entity.getEntityId(), simulationInterval);
+    }
+
+    public static boolean shouldSimulate(int tickNumber, int entityId, int simulationInterval) {
+        return simulationInterval == 1 || (tickNumber + entityId) % simulationInterval == 0;
+    }
+
     public ComponentContainer getComponents() {
         return components;
     }
 
+    public MonsterType<T, E> getType() {
+        return type;
+    }
+
     public ZombiesGame getGame() {
         return game;
     }
@@ -0,0 +1,19 @@
+package io.github.lama06.llamagames.zombies.monster;
+
+/**
+ * How closely a monster is simulated, see {@link LevelOfDetailSystem}
+ */
+public enum MonsterLod {
+    /**
+     * Near a player, simulated every tick
+     */
+    FULL,
+    /**
+     * Far away from all players, simulated every few ticks
+     */
+    REDUCED,
+    /**
+     * Can't reach any player, rarely simulated and without vanilla AI
+     */
+    DORMANT
+}
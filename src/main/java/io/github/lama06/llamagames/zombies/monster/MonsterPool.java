@@ -0,0 +1,120 @@
+package io.github.lama06.llamagames.zombies.monster;
+
+import io.github.lama06.llamagames.util.EntityPosition;
+import io.github.lama06.llamagames.zombies.ZombiesConfig;
+import io.github.lama06.llamagames.zombies.ZombiesGame;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+import java.util.*;
+
+/**
+ * Keeps the entities of killed monsters parked out of sight so that they can be reused instead of spawning new ones.
+ * At most {@link ZombiesConfig#monsterPoolSize} monsters are parked per type. The pool can also be filled in advance,
+ * spread across multiple ticks.
+ */
+public class MonsterPool {
+    private final ZombiesGame game;
+    private final Map<MonsterType<?, ?>, ArrayDeque<Monster<?, ?>>> parkedMonsters = new HashMap<>();
+    private final Map<MonsterType<?, ?>, Integer> prewarmTargets = new HashMap<>();
+
+    public MonsterPool(ZombiesGame game) {
+        this.game = game;
+    }
+
+    /**
+     * Returns the configured parking position or, if there is none, the bottom of the world below the spawn point
+     */
+    private Location getParkingLocation() {
+        ZombiesConfig config = game.getConfig();
+        if (config.monsterParkingPosition != null) {
+            return config.monsterParkingPosition.asLocation(game.getWorld());
+        }
+
+        // Parked monsters are invulnerable, so they don't suffocate there
+        Location location = config.getSpawnPoint().asLocation(game.getWorld());
+        location.setY(game.getWorld().getMinHeight() + 1);
+        return location;
+    }
+
+    private ArrayDeque<Monster<?, ?>> getParkedMonsters(MonsterType<?, ?> type) {
+        return parkedMonsters.computeIfAbsent(type, t -> new ArrayDeque<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Monster<T, E>, E extends Entity> T obtain(MonsterType<T, E> type, EntityPosition position) {
+        ArrayDeque<Monster<?, ?>> parked = getParkedMonsters(type);
+
+        while (!parked.isEmpty()) {
+            T monster = (T) parked.pop();
+
+            // The entity may have been removed together with its chunk
+            if (!monster.getEntity().isValid()) {
+                continue;
+            }
+
+            monster.respawn(position);
+            return monster;
+        }
+
+        return type.getCreator().createMonster(game, type, game.getWorld(), position);
+    }
+
+    public void release(Monster<?, ?> monster) {
+        ArrayDeque<Monster<?, ?>> parked = getParkedMonsters(monster.getType());
+
+        if (parked.size() >= game.getConfig().monsterPoolSize || !monster.getEntity().isValid()) {
+            monster.remove();
+            return;
+        }
+
+        monster.park(getParkingLocation());
+        parked.push(monster);
+    }
+
+    /**
+     * Sets the number of monsters of this type that should be parked in advance
+     */
+    public void setPrewarmTarget(MonsterType<?, ?> type, int count) {
+        prewarmTargets.put(type, Math.min(count, game.getConfig().monsterPoolSize));
+    }
+
+    /**
+     * Creates at most the given number of parked monsters for the types whose prewarm target hasn't been reached yet
+     */
+    public void prewarm(int budget) {
+        Iterator<Map.Entry<MonsterType<?, ?>, Integer>> iterator = prewarmTargets.entrySet().iterator();
+
+        while (iterator.hasNext() && budget > 0) {
+            Map.Entry<MonsterType<?, ?>, Integer> entry = iterator.next();
+            MonsterType<?, ?> type = entry.getKey();
+            ArrayDeque<Monster<?, ?>> parked = getParkedMonsters(type);
+
+            while (parked.size() < entry.getValue() && budget > 0) {
+                parked.push(createParkedMonster(type));
+                budget--;
+            }
+
+            if (parked.size() >= entry.getValue()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private <T extends Monster<T, E>, E extends Entity> T createParkedMonster(MonsterType<T, E> type) {
+        Location location = getParkingLocation();
+        T monster = type.getCreator().createMonster(game, type, game.getWorld(), new EntityPosition(location));
+        monster.park(location);
+        return monster;
+    }
+
+    public void clear() {
+        for (ArrayDeque<Monster<?, ?>> parked : parkedMonsters.values()) {
+            for (Monster<?, ?> monster : parked) {
+                monster.remove();
+            }
+        }
+        parkedMonsters.clear();
+        prewarmTargets.clear();
+    }
+}
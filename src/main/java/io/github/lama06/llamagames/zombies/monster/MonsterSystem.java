@@ -1,22 +1,16 @@
 package io.github.lama06.llamagames.zombies.monster;
 
+import io.github.lama06.llamagames.util.ComponentStore;
 import io.github.lama06.llamagames.zombies.ZombiesGame;
-import org.bukkit.Bukkit;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
-
-public abstract class MonsterSystem implements Listener {
-    protected final ZombiesGame game;
+import io.github.lama06.llamagames.zombies.ZombiesSystem;
 
+public abstract class MonsterSystem extends ZombiesSystem<Monster<?, ?>> {
     public MonsterSystem(ZombiesGame game) {
-        this.game = game;
-    }
-
-    public void register() {
-        Bukkit.getPluginManager().registerEvents(this, game.getPlugin());
+        super(game);
     }
 
-    public void unregister() {
-        HandlerList.unregisterAll(this);
+    @Override
+    protected ComponentStore<Monster<?, ?>> getComponentStore() {
+        return game.getMonsterStore();
     }
 }
@@ -2,18 +2,29 @@ package io.github.lama06.llamagames.zombies.monster;
 
 import io.github.lama06.llamagames.zombies.ZombiesGame;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 @SuppressWarnings("unused")
 public record MonsterSystemType<T extends MonsterSystem>(Function<ZombiesGame, T> creator) {
-    private static final Set<MonsterSystemType<?>> TYPES = new HashSet<>();
+    private static final List<MonsterSystemType<?>> TYPES = new ArrayList<>();
 
-    public static Set<MonsterSystemType<?>> getTypes() {
+    /**
+     * Returns the types in the order in which their systems are ticked
+     */
+    public static List<MonsterSystemType<?>> getTypes() {
         return TYPES;
     }
 
+    public static MonsterSystemType<PathfinderComponent.PathfinderSystem> PATHFINDER = new MonsterSystemType<>(
+            PathfinderComponent.PathfinderSystem::new
+    );
+
+    public static MonsterSystemType<LevelOfDetailSystem> LEVEL_OF_DETAIL = new MonsterSystemType<>(
+            LevelOfDetailSystem::new
+    );
+
     public static MonsterSystemType<MeleeAttackPlayerComponent.MeleeAttackPlayerSystem> MELEE_ATTACK_PLAYER = new MonsterSystemType<>(
             MeleeAttackPlayerComponent.MeleeAttackPlayerSystem::new
     );
@@ -22,10 +33,6 @@ public record MonsterSystemType<T extends MonsterSystem>(Function<ZombiesGame, T
             HealthComponent.RemoveDeadZombiesSystem::new
     );
 
-    public static MonsterSystemType<PathfinderComponent.PathfinderSystem> PATHFINDER = new MonsterSystemType<>(
-            PathfinderComponent.PathfinderSystem::new
-    );
-
     public MonsterSystemType {
         TYPES.add(this);
     }
@@ -1,45 +1,79 @@
 package io.github.lama06.llamagames.zombies.monster;
 
+import io.github.lama06.llamagames.util.ComponentTemplate;
 import io.github.lama06.llamagames.util.EntityPosition;
 import io.github.lama06.llamagames.zombies.ZombiesGame;
 import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Zombie;
 
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 
 @SuppressWarnings({"ClassCanBeRecord", "unused"})
 public class MonsterType<T extends Monster<T, E>, E extends Entity> {
-    private static final Set<MonsterType<?, ?>> TYPES = new HashSet<>();
+    private static final Map<String, MonsterType<?, ?>> TYPES = new HashMap<>();
 
-    public static Set<MonsterType<?, ?>> getTypes() {
-        return TYPES;
+    public static Collection<MonsterType<?, ?>> getTypes() {
+        return TYPES.values();
     }
 
     public static Optional<MonsterType<?, ?>> getByName(String name) {
-        return TYPES.stream().filter(type -> type.name.equals(name)).findFirst();
+        return Optional.ofNullable(TYPES.get(name));
     }
 
-    public static final MonsterType<EasyZombie, Zombie> EASY_ZOMBIE = EasyZombie.TYPE;
-
-    public static final MonsterType<MediumZombie, Zombie> MEDIUM_ZOMBIE = MediumZombie.TYPE;
-
-    public static final MonsterType<HardZombie, Zombie> HARD_ZOMBIE = HardZombie.TYPE;
+    public static final MonsterType<EasyZombie, Zombie> EASY_ZOMBIE = new MonsterType<>(
+            "easy_zombie",
+            MonsterSpawnLocation.WINDOW,
+            Zombie.class,
+            EasyZombie::new,
+            new ComponentTemplate<Monster<?, ?>>()
+                    .add(new HealthComponent(null, 10))
+                    .add(new MeleeAttackPlayerComponent(2, 3, 30))
+                    .add(new PathfinderComponent())
+    );
+
+    public static final MonsterType<MediumZombie, Zombie> MEDIUM_ZOMBIE = new MonsterType<>(
+            "medium_zombie",
+            MonsterSpawnLocation.WINDOW,
+            Zombie.class,
+            MediumZombie::new,
+            new ComponentTemplate<Monster<?, ?>>()
+                    .add(new HealthComponent(null, 20))
+                    .add(new MeleeAttackPlayerComponent(4, 4, 30))
+                    .add(new PathfinderComponent())
+    );
+
+    public static final MonsterType<HardZombie, Zombie> HARD_ZOMBIE = new MonsterType<>(
+            "hard_zombie",
+            MonsterSpawnLocation.WINDOW,
+            Zombie.class,
+            HardZombie::new,
+            new ComponentTemplate<Monster<?, ?>>()
+                    .add(new HealthComponent(null, 25))
+                    .add(new MeleeAttackPlayerComponent(7, 3, 40))
+                    .add(new PathfinderComponent())
+    );
 
     private final String name;
     private final MonsterSpawnLocation spawnLocation;
     private final Class<E> entityType;
     private final MonsterCreator<T, E> creator;
-
-    public MonsterType(String name, MonsterSpawnLocation spawnLocation, Class<E> entityType, MonsterCreator<T, E> creator) {
+    private final ComponentTemplate<Monster<?, ?>> template;
+
+    public MonsterType(
+            String name,
+            MonsterSpawnLocation spawnLocation,
+            Class<E> entityType,
+            MonsterCreator<T, E> creator,
+            ComponentTemplate<Monster<?, ?>> template
+    ) {
         this.name = name;
         this.spawnLocation = spawnLocation;
         this.entityType = entityType;
         this.creator = creator;
+        this.template = template;
 
-        TYPES.add(this);
+        TYPES.put(name, this);
     }
 
     public String getName() {
@@ -58,6 +92,13 @@ public class MonsterType<T extends Monster<T, E>, E extends Entity> {
         return creator;
     }
 
+    /**
+     * Returns the components every monster of this type starts with unless the config of the game overrides them
+     */
+    public ComponentTemplate<Monster<?, ?>> getTemplate() {
+        return template;
+    }
+
     @FunctionalInterface
     public interface MonsterCreator<T extends Monster<T, E>, E extends Entity> {
         T createMonster(ZombiesGame game, MonsterType<T, E> type, World world, EntityPosition position);
@@ -1,54 +1,242 @@
 package io.github.lama06.llamagames.zombies.monster;
 
-import com.destroystokyo.paper.event.server.ServerTickStartEvent;
-import io.github.lama06.llamagames.util.EntityPosition;
+import io.github.lama06.llamagames.util.ComponentPrototype;
+import io.github.lama06.llamagames.util.ComponentStore;
+import io.github.lama06.llamagames.util.SpatialHash;
 import io.github.lama06.llamagames.zombies.MonsterSpawnEvent;
+import io.github.lama06.llamagames.zombies.ZombiesConfig;
 import io.github.lama06.llamagames.zombies.ZombiesGame;
+import io.github.lama06.llamagames.zombies.ZombiesPlayer;
+import io.github.lama06.llamagames.zombies.navigation.FlowField;
+import io.github.lama06.llamagames.zombies.navigation.NavigationGrid;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Mob;
-import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 
-import java.util.Optional;
+import java.util.Set;
 
-public class PathfinderComponent {
+public class PathfinderComponent implements ComponentPrototype<Object> {
+    public int bucket;
+    public boolean repathPending = true;
+    /**
+     * The element of the player hash that the monster follows
+     */
+    public Object target;
+    public double targetX;
+    public double targetY;
+    public double targetZ;
+    public int waypoint = -1;
+
+    @Override
+    public PathfinderComponent instantiate(Object owner) {
+        return new PathfinderComponent();
+    }
+
+    /**
+     * Returns whether the monster has to check its path in this tick
+     */
+    public boolean isRepathDue(int buckets, int currentBucket) {
+        return repathPending || bucket % buckets == currentBucket || target == null;
+    }
+
+    /**
+     * Returns the entry of the nearest target if the monster at the position should search a new path to it or -1 if
+     * its current path is still good enough. Doesn't access the server.
+     *
+     * @param hasPath whether the monster is following a path
+     */
+    public int selectTarget(SpatialHash<?> targets, double x, double y, double z, boolean hasPath, double thresholdSquared) {
+        int nearest = targets.queryNearest(x, y, z, Double.MAX_VALUE);
+        if (nearest == -1) {
+            return -1;
+        }
+
+        if (!repathPending && targets.getElement(nearest) == target && hasPath) {
+            double dx = targets.getX(nearest) - targetX;
+            double dy = targets.getY(nearest) - targetY;
+            double dz = targets.getZ(nearest) - targetZ;
+            if (dx * dx + dy * dy + dz * dz <= thresholdSquared) {
+                return -1;
+            }
+        }
+
+        return nearest;
+    }
+
+    /**
+     * Remembers the target after a path to it was searched
+     */
+    public void setTarget(SpatialHash<?> targets, int entry) {
+        repathPending = false;
+        target = targets.getElement(entry);
+        targetX = targets.getX(entry);
+        targetY = targets.getY(entry);
+        targetZ = targets.getZ(entry);
+    }
+
+    /**
+     * Spreads the monsters across {@link ZombiesConfig#repathBuckets} ticks. A monster only searches a new path in its
+     * own tick and only if its target changed or moved further than {@link ZombiesConfig#repathDistanceThreshold}.
+     * At most {@link ZombiesConfig#maxRepathsPerTick} paths are computed per tick. Monsters that exceed this budget
+     * repath in one of the following ticks, which start with the first monster that exceeded the budget. While the
+     * server is overloaded, the buckets are stretched and the budget is shrunk by {@link ZombiesGame#getRepathSlowdown()}.
+     * <p>
+     * If the game has a {@link FlowField}, monsters that are further away from a player only walk to a cell a few blocks
+     * ahead along the field. They search a path to the player itself once they are close to it or if the field can't
+     * lead them to a player.
+     */
     public static class PathfinderSystem extends MonsterSystem {
+        private int nextBucket = 0;
+        private int cursor = 0;
+        private int[] targetCells = new int[0];
+        private final Location location = new Location(null, 0, 0, 0);
+
         public PathfinderSystem(ZombiesGame game) {
             super(game);
         }
 
-        private Optional<Player> searchNearestTarget(Monster<?, ?> monster) {
-            return game.getPlayers().stream()
-                    .min((p1, p2) -> {
-                        EntityPosition position = new EntityPosition(monster.getEntity().getLocation());
-                        EntityPosition.Distance distance1 = new EntityPosition(p1.getLocation()).getDistanceTo(position);
-                        EntityPosition.Distance distance2 = new EntityPosition(p2.getLocation()).getDistanceTo(position);
-                        return distance1.compareTo(distance2);
-                    });
+        @Override
+        public Set<Class<?>> getQueriedComponents() {
+            return Set.of(PathfinderComponent.class);
         }
 
-        @EventHandler
-        public void tick(ServerTickStartEvent event) {
-            if (!game.isRunning()) return;
+        private void updateFlowField(FlowField flowField, NavigationGrid grid, SpatialHash<ZombiesPlayer> targets) {
+            int numberOfTargets = targets.size();
+            if (targetCells.length < numberOfTargets) {
+                targetCells = new int[numberOfTargets];
+            }
 
-            for (Monster<?, ?> monster : game.getMonsters()) {
-                PathfinderComponent component = monster.getComponents().getComponent(PathfinderComponent.class);
-                if (component == null) {
-                    continue;
-                }
+            for (int i = 0; i < numberOfTargets; i++) {
+                targetCells[i] = grid.getCell(targets.getX(i), targets.getY(i), targets.getZ(i));
+            }
 
-                if (!(monster.getEntity() instanceof Mob entity)) {
-                    continue;
-                }
+            flowField.update(targetCells, numberOfTargets);
+        }
 
-                Optional<Player> player = searchNearestTarget(monster);
-                if (player.isEmpty()) {
-                    return;
-                }
+        /**
+         * Returns the cell the monster should walk to next or -1 if it should walk directly to its target
+         */
+        private int searchWaypoint(FlowField flowField, NavigationGrid grid, int lookahead) {
+            int cell = grid.getCell(location.getX(), location.getY(), location.getZ());
+            int distance = flowField.getDistance(cell);
+            if (distance <= lookahead) {
+                return -1;
+            }
+
+            return flowField.getWaypoint(cell, lookahead);
+        }
+
+        @Override
+        public void tick(int tickNumber) {
+            SpatialHash<ZombiesPlayer> targets = game.getPlayerHash();
+            if (targets.size() == 0) {
+                return;
+            }
+
+            ZombiesConfig config = game.getConfig();
+            int slowdown = game.getRepathSlowdown();
+            int buckets = Math.max(1, config.repathBuckets) * slowdown;
+            int currentBucket = tickNumber % buckets;
+            double threshold = config.repathDistanceThreshold * config.repathDistanceThreshold;
+            int remainingRepaths = (Math.max(1, config.maxRepathsPerTick) + slowdown - 1) / slowdown;
+            int lookahead = Math.max(1, config.flowFieldLookahead);
+
+            FlowField flowField = game.getFlowField();
+            NavigationGrid grid = game.getNavigationGrid();
+            if (flowField != null) {
+                updateFlowField(flowField, grid, targets);
+            }
 
-                entity.getPathfinder().moveTo(player.get());
+            int numberOfMonsters = 0;
+            for (ComponentStore.Archetype<Monster<?, ?>> archetype : getQuery().getArchetypes()) {
+                numberOfMonsters += archetype.size();
             }
+            int start = numberOfMonsters == 0 ? 0 : cursor % numberOfMonsters;
+            int firstDeniedMonster = -1;
+
+            // Starts with the first monster that exceeded the budget in the last tick, so that no monster starves
+            for (int pass = 0; pass < 2; pass++) {
+                int numberOfVisitedMonsters = 0;
+
+                for (ComponentStore.Archetype<Monster<?, ?>> archetype : getQuery().getArchetypes()) {
+                    Object[] components = archetype.getColumn(PathfinderComponent.class);
+
+                    for (int row = 0; row < archetype.size(); row++) {
+                        int index = numberOfVisitedMonsters++;
+                        if ((index >= start) != (pass == 0)) {
+                            continue;
+                        }
+
+                        PathfinderComponent component = (PathfinderComponent) components[row];
+                        Monster<?, ?> monster = archetype.getEntity(row);
+
+                        if (!monster.shouldSimulate(tickNumber)) {
+                            continue;
+                        }
+
+                        if (!(monster.getEntity() instanceof Mob entity)) {
+                            continue;
+                        }
+
+                        if (flowField != null) {
+                            entity.getLocation(location);
+                            // Monsters that are simulated less often walk to waypoints further ahead
+                            int waypoint = searchWaypoint(flowField, grid, lookahead * monster.getSimulationInterval());
+
+                            if (waypoint != -1) {
+                                if (waypoint == component.waypoint && entity.getPathfinder().hasPath()) {
+                                    continue;
+                                }
+
+                                if (remainingRepaths <= 0) {
+                                    if (firstDeniedMonster == -1) {
+                                        firstDeniedMonster = index;
+                                    }
+                                    continue;
+                                }
+                                remainingRepaths--;
+
+                                location.set(grid.getCenterX(waypoint), grid.getCenterY(waypoint), grid.getCenterZ(waypoint));
+                                entity.getPathfinder().moveTo(location);
+
+                                component.waypoint = waypoint;
+                                // The monster has to search a path to its target as soon as it leaves the flow field
+                                component.target = null;
+                                continue;
+                            }
+
+                            component.waypoint = -1;
+                        }
+
+                        if (!component.isRepathDue(buckets, currentBucket)) {
+                            continue;
+                        }
+
+                        entity.getLocation(location);
+                        boolean hasPath = !component.repathPending && entity.getPathfinder().hasPath();
+                        int nearest = component.selectTarget(targets, location.getX(), location.getY(), location.getZ(), hasPath, threshold);
+                        if (nearest == -1) {
+                            continue;
+                        }
+
+                        if (remainingRepaths <= 0) {
+                            component.repathPending = true;
+                            if (firstDeniedMonster == -1) {
+                                firstDeniedMonster = index;
+                            }
+                            continue;
+                        }
+                        remainingRepaths--;
+
+                        entity.getPathfinder().moveTo(targets.getElement(nearest).getPlayer());
+                        component.setTarget(targets, nearest);
+                    }
+                }
+            }
+
+            cursor = firstDeniedMonster == -1 ? start : firstDeniedMonster;
         }
 
         @EventHandler
@@ -59,7 +247,15 @@ public class PathfinderComponent {
 
             Monster<?, ?> monster = event.getMonster();
 
-            if (!monster.getComponents().hasComponent(PathfinderComponent.class)) {
+            PathfinderComponent component = monster.getComponents().getComponent(PathfinderComponent.class);
+            if (component == null) {
+                return;
+            }
+
+            component.bucket = nextBucket++ & Integer.MAX_VALUE;
+
+            // The goals of reused entities have already been removed
+            if (event.isReused()) {
                 return;
             }
 
@@ -0,0 +1,139 @@
+package io.github.lama06.llamagames.zombies.navigation;
+
+/**
+ * Stores the walking distance from every cell of a {@link NavigationGrid} to the nearest player. The distances are
+ * computed with a breadth-first search that starts at all players at once and is only repeated if a player entered
+ * another cell or a door was opened.
+ */
+public class FlowField {
+    private final NavigationGrid grid;
+    private final int[] distances;
+    private final int[] generations;
+    private int generation = 0;
+    private final int[] queue;
+    private final int[] neighbors = new int[12];
+    private int[] sources = new int[0];
+    private int numberOfSources = 0;
+    private boolean valid = false;
+
+    public FlowField(NavigationGrid grid) {
+        this.grid = grid;
+        distances = new int[grid.getNumberOfCells()];
+        generations = new int[grid.getNumberOfCells()];
+        queue = new int[grid.getNumberOfWalkableCells()];
+    }
+
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Recomputes the distances if the cells of the players changed since the last update.
+     * Cells that are -1 are ignored.
+     */
+    public void update(int[] playerCells, int numberOfPlayers) {
+        if (valid && !sourcesChanged(playerCells, numberOfPlayers)) {
+            return;
+        }
+
+        if (sources.length < numberOfPlayers) {
+            sources = new int[numberOfPlayers];
+        }
+        System.arraycopy(playerCells, 0, sources, 0, numberOfPlayers);
+        numberOfSources = numberOfPlayers;
+
+        compute();
+        valid = true;
+    }
+
+    private boolean sourcesChanged(int[] playerCells, int numberOfPlayers) {
+        if (numberOfPlayers != numberOfSources) {
+            return true;
+        }
+
+        for (int i = 0; i < numberOfPlayers; i++) {
+            if (playerCells[i] != sources[i]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void compute() {
+        generation++;
+
+        int head = 0;
+        int tail = 0;
+
+        for (int i = 0; i < numberOfSources; i++) {
+            int cell = sources[i];
+            if (cell == -1 || generations[cell] == generation) {
+                continue;
+            }
+
+            generations[cell] = generation;
+            distances[cell] = 0;
+            queue[tail++] = cell;
+        }
+
+        while (head < tail) {
+            int cell = queue[head++];
+            int distance = distances[cell] + 1;
+
+            int count = grid.getNeighbors(cell, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (generations[neighbor] == generation) {
+                    continue;
+                }
+
+                generations[neighbor] = generation;
+                distances[neighbor] = distance;
+                queue[tail++] = neighbor;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of steps from this cell to the nearest player or -1 if no player can be reached.
+     */
+    public int getDistance(int cell) {
+        if (cell == -1 || generations[cell] != generation) {
+            return -1;
+        }
+
+        return distances[cell];
+    }
+
+    /**
+     * Follows the gradient of the field for the given number of steps and returns the reached cell.
+     */
+    public int getWaypoint(int cell, int steps) {
+        int current = cell;
+
+        for (int step = 0; step < steps; step++) {
+            int currentDistance = getDistance(current);
+            if (currentDistance <= 0) {
+                break;
+            }
+
+            int next = -1;
+            int count = grid.getNeighbors(current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighborDistance = getDistance(neighbors[i]);
+                if (neighborDistance != -1 && neighborDistance < currentDistance) {
+                    next = neighbors[i];
+                    currentDistance = neighborDistance;
+                }
+            }
+
+            if (next == -1) {
+                break;
+            }
+            current = next;
+        }
+
+        return current;
+    }
+}
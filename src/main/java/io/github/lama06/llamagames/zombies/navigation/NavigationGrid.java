@@ -0,0 +1,221 @@
+package io.github.lama06.llamagames.zombies.navigation;
+
+import io.github.lama06.llamagames.util.AreaSnapshot;
+import io.github.lama06.llamagames.util.BlockArea;
+import io.github.lama06.llamagames.zombies.Door;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.*;
+
+/**
+ * Stores which blocks of the map a monster can stand in. A cell is walkable if the block below it is solid and the cell
+ * itself and the block above it are not. Cells inside of doors are closed until the door is opened.
+ */
+public class NavigationGrid {
+    private static final int[] NEIGHBOR_X = {1, -1, 0, 0};
+    private static final int[] NEIGHBOR_Z = {0, 0, 1, -1};
+    private static final int[] NEIGHBOR_Y = {0, 1, -1};
+
+    private final int lowerX;
+    private final int lowerY;
+    private final int lowerZ;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final BitSet walkable;
+    private final BitSet closed = new BitSet();
+    private final Map<Door, int[]> doorCells = new HashMap<>();
+    private final int numberOfWalkableCells;
+
+    private NavigationGrid(World world, BlockArea area, Collection<Door> doors) {
+        lowerX = area.getLowerX();
+        lowerY = area.getLowerY();
+        lowerZ = area.getLowerZ();
+        sizeX = area.getUpperX() - lowerX + 1;
+        sizeY = area.getUpperY() - lowerY + 1;
+        sizeZ = area.getUpperZ() - lowerZ + 1;
+
+        // Includes one layer below and above the area
+        BitSet solid = new BitSet();
+        AreaSnapshot snapshot = new AreaSnapshot(world, List.of(area));
+        for (int y = -1; y <= sizeY; y++) {
+            for (int z = 0; z < sizeZ; z++) {
+                for (int x = 0; x < sizeX; x++) {
+                    Material type = snapshot.getBlockType(lowerX + x, lowerY + y, lowerZ + z);
+                    if (type.isSolid()) {
+                        solid.set(getSolidIndex(x, y, z));
+                    }
+                }
+            }
+        }
+
+        // Doors are treated as open while computing the walkable cells
+        for (Door door : doors) {
+            forEachBlock(door.blocks, (x, y, z) -> {
+                if (y >= -1 && y <= sizeY) {
+                    solid.clear(getSolidIndex(x, y, z));
+                }
+            });
+        }
+
+        walkable = new BitSet(sizeX * sizeY * sizeZ);
+        for (int y = 0; y < sizeY; y++) {
+            for (int z = 0; z < sizeZ; z++) {
+                for (int x = 0; x < sizeX; x++) {
+                    boolean ground = solid.get(getSolidIndex(x, y - 1, z));
+                    boolean feet = !solid.get(getSolidIndex(x, y, z));
+                    boolean head = !solid.get(getSolidIndex(x, y + 1, z));
+                    if (ground && feet && head) {
+                        walkable.set(getIndex(x, y, z));
+                    }
+                }
+            }
+        }
+        numberOfWalkableCells = walkable.cardinality();
+
+        for (Door door : doors) {
+            Set<Integer> cells = new HashSet<>();
+            forEachBlock(door.blocks, (x, y, z) -> {
+                // The door block can either be at the height of the feet or the head
+                for (int cellY = y - 1; cellY <= y; cellY++) {
+                    if (cellY < 0 || cellY >= sizeY) {
+                        continue;
+                    }
+
+                    int cell = getIndex(x, cellY, z);
+                    if (walkable.get(cell)) {
+                        cells.add(cell);
+                    }
+                }
+            });
+
+            int[] cellArray = cells.stream().mapToInt(Integer::intValue).toArray();
+            doorCells.put(door, cellArray);
+            for (int cell : cellArray) {
+                closed.set(cell);
+            }
+        }
+    }
+
+    public static NavigationGrid build(World world, BlockArea area, Collection<Door> doors) {
+        return new NavigationGrid(world, area, doors);
+    }
+
+    private interface BlockConsumer {
+        void accept(int x, int y, int z);
+    }
+
+    private void forEachBlock(BlockArea area, BlockConsumer consumer) {
+        for (int x = Math.max(area.getLowerX(), lowerX); x <= Math.min(area.getUpperX(), lowerX + sizeX - 1); x++) {
+            for (int z = Math.max(area.getLowerZ(), lowerZ); z <= Math.min(area.getUpperZ(), lowerZ + sizeZ - 1); z++) {
+                for (int y = area.getLowerY(); y <= area.getUpperY(); y++) {
+                    consumer.accept(x - lowerX, y - lowerY, z - lowerZ);
+                }
+            }
+        }
+    }
+
+    private int getSolidIndex(int x, int y, int z) {
+        return ((y + 1) * sizeZ + z) * sizeX + x;
+    }
+
+    private int getIndex(int x, int y, int z) {
+        return (y * sizeZ + z) * sizeX + x;
+    }
+
+    public void openDoor(Door door) {
+        int[] cells = doorCells.get(door);
+        if (cells == null) {
+            return;
+        }
+
+        for (int cell : cells) {
+            closed.clear(cell);
+        }
+    }
+
+    public boolean isOpen(int cell) {
+        return walkable.get(cell) && !closed.get(cell);
+    }
+
+    /**
+     * Returns the open cell a monster or player at this position stands in or -1 if there is none.
+     * Positions slightly above the ground (for example while jumping) are snapped to the cell below.
+     */
+    public int getCell(double x, double y, double z) {
+        int cellX = (int) Math.floor(x) - lowerX;
+        int cellY = (int) Math.floor(y) - lowerY;
+        int cellZ = (int) Math.floor(z) - lowerZ;
+
+        if (cellX < 0 || cellX >= sizeX || cellZ < 0 || cellZ >= sizeZ) {
+            return -1;
+        }
+
+        for (int i = 0; i < 3; i++, cellY--) {
+            if (cellY < 0 || cellY >= sizeY) {
+                continue;
+            }
+
+            int cell = getIndex(cellX, cellY, cellZ);
+            if (isOpen(cell)) {
+                return cell;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Writes the open cells that can be reached from this cell in one step into the array and returns their number.
+     * The array must have a length of at least 12.
+     */
+    public int getNeighbors(int cell, int[] neighbors) {
+        int x = cell % sizeX;
+        int z = (cell / sizeX) % sizeZ;
+        int y = cell / (sizeX * sizeZ);
+
+        int count = 0;
+        for (int direction = 0; direction < NEIGHBOR_X.length; direction++) {
+            int neighborX = x + NEIGHBOR_X[direction];
+            int neighborZ = z + NEIGHBOR_Z[direction];
+            if (neighborX < 0 || neighborX >= sizeX || neighborZ < 0 || neighborZ >= sizeZ) {
+                continue;
+            }
+
+            for (int yOffset : NEIGHBOR_Y) {
+                int neighborY = y + yOffset;
+                if (neighborY < 0 || neighborY >= sizeY) {
+                    continue;
+                }
+
+                int neighbor = getIndex(neighborX, neighborY, neighborZ);
+                if (isOpen(neighbor)) {
+                    neighbors[count++] = neighbor;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    public double getCenterX(int cell) {
+        return lowerX + cell % sizeX + 0.5;
+    }
+
+    public double getCenterY(int cell) {
+        return lowerY + cell / (sizeX * sizeZ);
+    }
+
+    public double getCenterZ(int cell) {
+        return lowerZ + (cell / sizeX) % sizeZ + 0.5;
+    }
+
+    public int getNumberOfCells() {
+        return sizeX * sizeY * sizeZ;
+    }
+
+    public int getNumberOfWalkableCells() {
+        return numberOfWalkableCells;
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.lama06.llamagames.zombies.replay;
+
+/**
+ * Constants of the replay file format. A file starts with {@link #MAGIC}, the {@link #VERSION} and the number of the
+ * first tick, followed by records that each start with a one byte tag. Integers are written as varints, signed values
+ * zigzag encoded. Positions are fixed point numbers with {@link #POSITION_SCALE} steps per block. Positions in move
+ * records are relative to the previous position of the same player or monster.
+ */
+final class ReplayFormat {
+    static final int MAGIC = 0x4C475A52;
+    static final int VERSION = 1;
+    static final double POSITION_SCALE = 32;
+    /**
+     * No record is larger than this, so it is enough to check for this much space before writing or reading a record
+     */
+    static final int MAX_RECORD_SIZE = 512;
+    static final int MAX_STRING_LENGTH = 255;
+
+    /** Tick delta */
+    static final byte TICK = 1;
+    /** Round */
+    static final byte ROUND = 2;
+    /** Player, name */
+    static final byte PLAYER_JOINED = 3;
+    /** Player, dx, dy, dz */
+    static final byte PLAYER_MOVED = 4;
+    /** Monster type, name */
+    static final byte MONSTER_TYPE = 5;
+    /** Monster, monster type, x, y, z */
+    static final byte MONSTER_SPAWNED = 6;
+    /** Monster, dx, dy, dz */
+    static final byte MONSTER_MOVED = 7;
+    /** Monster */
+    static final byte MONSTER_KILLED = 8;
+    /** Monster */
+    static final byte MONSTER_DESPAWNED = 9;
+    /** Player, x, y, z, yaw, pitch, pellets */
+    static final byte SHOT = 10;
+    /** Door */
+    static final byte DOOR_OPENED = 11;
+    static final byte END = 12;
+
+    private ReplayFormat() { }
+
+    static int toFixed(double coordinate) {
+        return (int) Math.round(coordinate * POSITION_SCALE);
+    }
+
+    static double fromFixed(int coordinate) {
+        return coordinate / POSITION_SCALE;
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.lama06.llamagames.zombies.replay;
+
+/**
+ * Receives the records of a replay from a {@link ReplayReader}. Positions are absolute.
+ */
+public interface ReplayListener {
+    default void handleTick(int tick) { }
+
+    default void handleRound(int round) { }
+
+    default void handlePlayerJoined(int player, String name) { }
+
+    default void handlePlayerMoved(int player, double x, double y, double z) { }
+
+    default void handleMonsterSpawned(int monster, String type, double x, double y, double z) { }
+
+    default void handleMonsterMoved(int monster, double x, double y, double z) { }
+
+    default void handleMonsterKilled(int monster) { }
+
+    default void handleMonsterDespawned(int monster) { }
+
+    default void handleShot(int player, double x, double y, double z, float yaw, float pitch, int pellets) { }
+
+    default void handleDoorOpened(int door) { }
+}
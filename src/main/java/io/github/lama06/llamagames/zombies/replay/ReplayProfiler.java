@@ -0,0 +1,291 @@
+package io.github.lama06.llamagames.zombies.replay;
+
+import io.github.lama06.llamagames.util.ComponentContainer;
+import io.github.lama06.llamagames.util.SpatialHash;
+import io.github.lama06.llamagames.zombies.PlayerView;
+import io.github.lama06.llamagames.zombies.ZombiesConfig;
+import io.github.lama06.llamagames.zombies.monster.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Replays a recorded game without a server and runs the per-monster logic of the monster systems against the recorded
+ * positions in every tick, in the order of the game: the repath decisions of the pathfinder with its budget, the level
+ * of detail of each monster and the melee attacks with the ranges and cooldowns of the monster types. The spatial hashes
+ * are rebuilt every tick like in the game. The default {@link ZombiesConfig} is used. Prints the ticks that took longest
+ * together with the round, the number of monsters and the work done, so that a laggy round can be reproduced.
+ * <p>
+ * Everything that needs a world isn't part of the measurement: the vanilla path searches themselves, the flow field,
+ * which needs the blocks of the map, and the ray traces of shots.
+ *
+ * <p>Usage: {@code java -cp <plugin jar>:<paper api jar> io.github.lama06.llamagames.zombies.replay.ReplayProfiler <replay file>}
+ */
+public class ReplayProfiler implements ReplayListener {
+    private static final int NUMBER_OF_SLOWEST_TICKS = 10;
+    private static final double SPATIAL_HASH_CELL_SIZE = 8;
+
+    private final ZombiesConfig config = new ZombiesConfig();
+    private final Map<Integer, ReplayPlayer> players = new HashMap<>();
+    private final Map<Integer, ReplayMonster> monsters = new LinkedHashMap<>();
+    private final SpatialHash<ReplayPlayer> playerHash = new SpatialHash<>(SPATIAL_HASH_CELL_SIZE);
+    private final SpatialHash<ReplayMonster> monsterHash = new SpatialHash<>(SPATIAL_HASH_CELL_SIZE);
+    private final List<ReplayPlayer> nearbyPlayers = new ArrayList<>();
+    private final PriorityQueue<TickTiming> slowestTicks = new PriorityQueue<>(Comparator.comparingLong(TickTiming::nanos));
+
+    private int tick = -1;
+    private int round = 0;
+    private int shots = 0;
+    private int numberOfTicks = 0;
+    private long totalNanos = 0;
+    private int maxMonsters = 0;
+    private int kills = 0;
+    private int nextBucket = 0;
+    private int repaths = 0;
+    private int attacks = 0;
+
+    public record TickTiming(int tick, int round, int monsters, int shots, int repaths, int attacks, long nanos) { }
+
+    private static final class ReplayPlayer implements PlayerView {
+        private double x;
+        private double y;
+        private double z;
+
+        @Override
+        public double getX() {
+            return x;
+        }
+
+        @Override
+        public double getY() {
+            return y;
+        }
+
+        @Override
+        public double getZ() {
+            return z;
+        }
+
+        /**
+         * Only living players are recorded
+         */
+        @Override
+        public boolean isAlive() {
+            return true;
+        }
+    }
+
+    private static final class ReplayMonster {
+        private final int id;
+        private double x;
+        private double y;
+        private double z;
+        private final PathfinderComponent pathfinder;
+        private final MeleeAttackPlayerComponent meleeAttack;
+        private int simulationInterval = 1;
+
+        private ReplayMonster(int id, ComponentContainer components) {
+            this.id = id;
+            pathfinder = components.getComponent(PathfinderComponent.class);
+            meleeAttack = components.getComponent(MeleeAttackPlayerComponent.class);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: ReplayProfiler <replay file>");
+            System.exit(1);
+        }
+
+        ReplayProfiler profiler = new ReplayProfiler();
+        ReplayReader.read(new File(args[0]), profiler);
+        profiler.finish();
+        profiler.printResults();
+    }
+
+    @Override
+    public void handleTick(int tick) {
+        finish();
+        this.tick = tick;
+        shots = 0;
+        repaths = 0;
+        attacks = 0;
+    }
+
+    @Override
+    public void handleRound(int round) {
+        this.round = round;
+    }
+
+    @Override
+    public void handlePlayerJoined(int player, String name) {
+        players.put(player, new ReplayPlayer());
+    }
+
+    @Override
+    public void handlePlayerMoved(int player, double x, double y, double z) {
+        ReplayPlayer replayPlayer = players.get(player);
+        replayPlayer.x = x;
+        replayPlayer.y = y;
+        replayPlayer.z = z;
+    }
+
+    @Override
+    public void handleMonsterSpawned(int monster, String type, double x, double y, double z) {
+        // Monsters of unknown types don't have any components and are only part of the monster hash
+        ComponentContainer components = new ComponentContainer();
+        MonsterType.getByName(type).ifPresent(monsterType -> monsterType.getTemplate().instantiate(null, components));
+
+        ReplayMonster replayMonster = new ReplayMonster(monster, components);
+        if (replayMonster.pathfinder != null) {
+            replayMonster.pathfinder.bucket = nextBucket++ & Integer.MAX_VALUE;
+        }
+        replayMonster.x = x;
+        replayMonster.y = y;
+        replayMonster.z = z;
+        monsters.put(monster, replayMonster);
+    }
+
+    @Override
+    public void handleMonsterMoved(int monster, double x, double y, double z) {
+        ReplayMonster replayMonster = monsters.get(monster);
+        replayMonster.x = x;
+        replayMonster.y = y;
+        replayMonster.z = z;
+    }
+
+    @Override
+    public void handleMonsterKilled(int monster) {
+        kills++;
+    }
+
+    @Override
+    public void handleMonsterDespawned(int monster) {
+        monsters.remove(monster);
+    }
+
+    @Override
+    public void handleShot(int player, double x, double y, double z, float yaw, float pitch, int pellets) {
+        shots++;
+    }
+
+    /**
+     * Runs the monster systems for the state of the current tick
+     */
+    private void finish() {
+        if (tick == -1) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        playerHash.clear();
+        for (ReplayPlayer player : players.values()) {
+            playerHash.insert(player, player.x, player.y, player.z);
+        }
+
+        monsterHash.clear();
+        for (ReplayMonster monster : monsters.values()) {
+            monsterHash.insert(monster, monster.x, monster.y, monster.z);
+        }
+
+        if (playerHash.size() != 0) {
+            tickPathfinder();
+            tickLevelOfDetail();
+            tickMeleeAttacks();
+        }
+
+        long nanos = System.nanoTime() - start;
+        numberOfTicks++;
+        totalNanos += nanos;
+        maxMonsters = Math.max(maxMonsters, monsters.size());
+
+        slowestTicks.add(new TickTiming(tick, round, monsters.size(), shots, repaths, attacks, nanos));
+        if (slowestTicks.size() > NUMBER_OF_SLOWEST_TICKS) {
+            slowestTicks.poll();
+        }
+    }
+
+    private void tickPathfinder() {
+        int buckets = Math.max(1, config.repathBuckets);
+        int currentBucket = tick % buckets;
+        double threshold = config.repathDistanceThreshold * config.repathDistanceThreshold;
+        int remainingRepaths = Math.max(1, config.maxRepathsPerTick);
+
+        for (ReplayMonster monster : monsters.values()) {
+            PathfinderComponent component = monster.pathfinder;
+            if (component == null || !Monster.shouldSimulate(tick, monster.id, monster.simulationInterval)) {
+                continue;
+            }
+
+            if (!component.isRepathDue(buckets, currentBucket)) {
+                continue;
+            }
+
+            // There is no vanilla pathfinder, so a monster that has a target is assumed to still follow its path
+            boolean hasPath = !component.repathPending && component.target != null;
+            int nearest = component.selectTarget(playerHash, monster.x, monster.y, monster.z, hasPath, threshold);
+            if (nearest == -1) {
+                continue;
+            }
+
+            if (remainingRepaths <= 0) {
+                component.repathPending = true;
+                continue;
+            }
+            remainingRepaths--;
+
+            repaths++;
+            component.setTarget(playerHash, nearest);
+        }
+    }
+
+    private void tickLevelOfDetail() {
+        for (ReplayMonster monster : monsters.values()) {
+            if (!LevelOfDetailSystem.shouldUpdate(tick, monster.id)) {
+                continue;
+            }
+
+            MonsterLod lod = LevelOfDetailSystem.selectLod(playerHash, monster.x, monster.y, monster.z, config, null, null);
+            monster.simulationInterval = Math.max(1, LevelOfDetailSystem.getSimulationInterval(lod, config));
+        }
+    }
+
+    private void tickMeleeAttacks() {
+        for (ReplayMonster monster : monsters.values()) {
+            MeleeAttackPlayerComponent component = monster.meleeAttack;
+            if (component == null || !Monster.shouldSimulate(tick, monster.id, monster.simulationInterval)) {
+                continue;
+            }
+
+            if (!component.tickCooldown(monster.simulationInterval)) {
+                continue;
+            }
+
+            if (component.findTarget(playerHash, monster.x, monster.y, monster.z, nearbyPlayers) != null) {
+                attacks++;
+            }
+        }
+    }
+
+    public List<TickTiming> getSlowestTicks() {
+        List<TickTiming> result = new ArrayList<>(slowestTicks);
+        result.sort(Comparator.comparingLong(TickTiming::nanos).reversed());
+        return result;
+    }
+
+    private void printResults() {
+        System.out.printf("%d ticks, %d rounds, %d kills, at most %d monsters%n", numberOfTicks, round, kills, maxMonsters);
+        if (numberOfTicks != 0) {
+            System.out.printf("%.3f ms per tick on average%n", totalNanos / 1_000_000D / numberOfTicks);
+        }
+
+        System.out.println("Slowest ticks:");
+        for (TickTiming timing : getSlowestTicks()) {
+            System.out.printf("Tick %d (round %d) - %.3f ms, %d monsters, %d shots, %d repaths, %d attacks%n",
+                    timing.tick(), timing.round(), timing.nanos() / 1_000_000D, timing.monsters(), timing.shots(),
+                    timing.repaths(), timing.attacks());
+        }
+    }
+}
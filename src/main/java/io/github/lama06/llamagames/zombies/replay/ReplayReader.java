@@ -0,0 +1,206 @@
+package io.github.lama06.llamagames.zombies.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a replay written by a {@link ReplayRecorder} and passes its records to a {@link ReplayListener}. Doesn't depend
+ * on the server, so replays can be read outside of it.
+ */
+public class ReplayReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private boolean endOfFile = false;
+
+    private int tick;
+    private final List<int[]> playerPositions = new ArrayList<>();
+    private final List<String> monsterTypes = new ArrayList<>();
+    private final Map<Integer, int[]> monsterPositions = new HashMap<>();
+
+    private ReplayReader(FileChannel channel) {
+        this.channel = channel;
+        buffer.limit(0);
+    }
+
+    /**
+     * Reads the whole replay
+     *
+     * @throws IOException if the file can't be read or is not a valid replay
+     */
+    public static void read(File file, ReplayListener listener) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            new ReplayReader(channel).read(listener);
+        }
+    }
+
+    private void read(ReplayListener listener) throws IOException {
+        fill();
+        if (buffer.remaining() < 4 || buffer.getInt() != ReplayFormat.MAGIC) {
+            throw new IOException("Not a replay file");
+        }
+
+        int version = readVarInt();
+        if (version != ReplayFormat.VERSION) {
+            throw new IOException("Unsupported replay version: %d".formatted(version));
+        }
+
+        tick = readVarInt();
+
+        while (true) {
+            fill();
+            // A replay whose recording was stopped early has no end record
+            if (!buffer.hasRemaining()) {
+                return;
+            }
+
+            byte tag = buffer.get();
+            switch (tag) {
+                case ReplayFormat.TICK -> {
+                    tick += readVarInt();
+                    listener.handleTick(tick);
+                }
+                case ReplayFormat.ROUND -> listener.handleRound(readVarInt());
+                case ReplayFormat.PLAYER_JOINED -> {
+                    int player = readVarInt();
+                    String name = readString();
+                    while (playerPositions.size() <= player) {
+                        playerPositions.add(new int[3]);
+                    }
+                    listener.handlePlayerJoined(player, name);
+                }
+                case ReplayFormat.PLAYER_MOVED -> {
+                    int player = readVarInt();
+                    int[] position = readMove(playerPositions.get(player));
+                    listener.handlePlayerMoved(
+                            player,
+                            ReplayFormat.fromFixed(position[0]),
+                            ReplayFormat.fromFixed(position[1]),
+                            ReplayFormat.fromFixed(position[2])
+                    );
+                }
+                case ReplayFormat.MONSTER_TYPE -> {
+                    int type = readVarInt();
+                    String name = readString();
+                    while (monsterTypes.size() <= type) {
+                        monsterTypes.add(null);
+                    }
+                    monsterTypes.set(type, name);
+                }
+                case ReplayFormat.MONSTER_SPAWNED -> {
+                    int monster = readVarInt();
+                    String type = monsterTypes.get(readVarInt());
+                    int[] position = new int[] {readSignedVarInt(), readSignedVarInt(), readSignedVarInt()};
+                    monsterPositions.put(monster, position);
+                    listener.handleMonsterSpawned(
+                            monster,
+                            type,
+                            ReplayFormat.fromFixed(position[0]),
+                            ReplayFormat.fromFixed(position[1]),
+                            ReplayFormat.fromFixed(position[2])
+                    );
+                }
+                case ReplayFormat.MONSTER_MOVED -> {
+                    int monster = readVarInt();
+                    int[] position = monsterPositions.get(monster);
+                    if (position == null) {
+                        throw new IOException("Monster %d moved before it was spawned".formatted(monster));
+                    }
+                    readMove(position);
+                    listener.handleMonsterMoved(
+                            monster,
+                            ReplayFormat.fromFixed(position[0]),
+                            ReplayFormat.fromFixed(position[1]),
+                            ReplayFormat.fromFixed(position[2])
+                    );
+                }
+                case ReplayFormat.MONSTER_KILLED -> listener.handleMonsterKilled(readVarInt());
+                case ReplayFormat.MONSTER_DESPAWNED -> {
+                    int monster = readVarInt();
+                    monsterPositions.remove(monster);
+                    listener.handleMonsterDespawned(monster);
+                }
+                case ReplayFormat.SHOT -> listener.handleShot(
+                        readVarInt(),
+                        ReplayFormat.fromFixed(readSignedVarInt()),
+                        ReplayFormat.fromFixed(readSignedVarInt()),
+                        ReplayFormat.fromFixed(readSignedVarInt()),
+                        readSignedVarInt() / 10F,
+                        readSignedVarInt() / 10F,
+                        readVarInt()
+                );
+                case ReplayFormat.DOOR_OPENED -> listener.handleDoorOpened(readVarInt());
+                case ReplayFormat.END -> {
+                    return;
+                }
+                default -> throw new IOException("Unknown record: %d".formatted(tag));
+            }
+        }
+    }
+
+    /**
+     * Makes sure that the next record is completely in the buffer unless the file ends before
+     */
+    private void fill() throws IOException {
+        if (endOfFile || buffer.remaining() >= ReplayFormat.MAX_RECORD_SIZE) {
+            return;
+        }
+
+        buffer.compact();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1) {
+                endOfFile = true;
+                break;
+            }
+        }
+        buffer.flip();
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new IOException("Unexpected end of the replay");
+            }
+
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid varint");
+    }
+
+    private int readSignedVarInt() throws IOException {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private String readString() throws IOException {
+        int length = readVarInt();
+        if (length > buffer.remaining()) {
+            throw new IOException("Unexpected end of the replay");
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int[] readMove(int[] position) throws IOException {
+        position[0] += readSignedVarInt();
+        position[1] += readSignedVarInt();
+        position[2] += readSignedVarInt();
+        return position;
+    }
+}
@@ -0,0 +1,352 @@
+package io.github.lama06.llamagames.zombies.replay;
+
+import io.github.lama06.llamagames.zombies.ZombiesPlayer;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Records what happens in a Zombies game into a file, see {@link ReplayFormat}. Records are encoded on the main thread
+ * into a buffer. Full buffers are written to the file by a background thread and then reused. At most
+ * {@link #MAX_BUFFERS} buffers exist, so if the disk can't keep up, the recording is stopped instead of using more
+ * memory.
+ */
+public class ReplayRecorder {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_BUFFERS = 16;
+    private static final ByteBuffer END_OF_STREAM = ByteBuffer.allocate(0);
+
+    private final Logger logger;
+    private final File file;
+    private final FileChannel channel;
+    private final BlockingQueue<ByteBuffer> filledBuffers = new ArrayBlockingQueue<>(MAX_BUFFERS + 1);
+    private final BlockingQueue<ByteBuffer> freeBuffers = new ArrayBlockingQueue<>(MAX_BUFFERS);
+    private final Thread writerThread;
+    private int numberOfBuffers = 1;
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private volatile boolean failed = false;
+    private boolean stopped = false;
+
+    private int lastTick;
+    private final Map<ZombiesPlayer, Integer> playerIds = new HashMap<>();
+    private final List<int[]> playerPositions = new ArrayList<>();
+    private final Map<String, Integer> monsterTypeIds = new HashMap<>();
+    private final Map<Integer, int[]> monsterPositions = new HashMap<>();
+
+    private ReplayRecorder(Logger logger, File file, FileChannel channel, int firstTick) {
+        this.logger = logger;
+        this.file = file;
+        this.channel = channel;
+        lastTick = firstTick;
+
+        writerThread = new Thread(this::writeBuffers, "Zombies Replay Writer (%s)".formatted(file.getName()));
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        buffer.putInt(ReplayFormat.MAGIC);
+        writeVarInt(ReplayFormat.VERSION);
+        writeVarInt(firstTick);
+    }
+
+    public static ReplayRecorder open(Logger logger, File file, int firstTick) throws IOException {
+        FileChannel channel = FileChannel.open(
+                file.toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        );
+        return new ReplayRecorder(logger, file, channel, firstTick);
+    }
+
+    private void writeBuffers() {
+        try {
+            while (true) {
+                ByteBuffer filledBuffer = filledBuffers.take();
+                if (filledBuffer == END_OF_STREAM) {
+                    break;
+                }
+
+                if (!failed) {
+                    try {
+                        while (filledBuffer.hasRemaining()) {
+                            channel.write(filledBuffer);
+                        }
+                    } catch (IOException e) {
+                        failed = true;
+                        logger.error("Failed to write the replay %s: %s".formatted(file.getName(), e));
+                    }
+                }
+
+                filledBuffer.clear();
+                freeBuffers.offer(filledBuffer);
+            }
+        } catch (InterruptedException ignored) {
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.error("Failed to close the replay %s: %s".formatted(file.getName(), e));
+            }
+        }
+    }
+
+    /**
+     * Hands the current buffer to the writer thread and takes a free one
+     */
+    private void flush() {
+        buffer.flip();
+        filledBuffers.offer(buffer);
+
+        buffer = freeBuffers.poll();
+        if (buffer == null && numberOfBuffers < MAX_BUFFERS) {
+            buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            numberOfBuffers++;
+        }
+
+        if (buffer == null) {
+            logger.warn("Stopped recording the replay %s because it can't be written fast enough".formatted(file.getName()));
+            stop();
+        }
+    }
+
+    /**
+     * Returns whether the next record can be written
+     */
+    private boolean beginRecord(byte tag) {
+        if (stopped) {
+            return false;
+        }
+
+        if (failed) {
+            stop();
+            return false;
+        }
+
+        if (buffer.remaining() < ReplayFormat.MAX_RECORD_SIZE) {
+            flush();
+            if (stopped) {
+                return false;
+            }
+        }
+
+        buffer.put(tag);
+        return true;
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void writeSignedVarInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    private void writeString(String string) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, ReplayFormat.MAX_STRING_LENGTH);
+        writeVarInt(length);
+        buffer.put(bytes, 0, length);
+    }
+
+    /**
+     * Writes the difference to the previous position and stores the new one
+     */
+    private void writeMove(int[] position, int x, int y, int z) {
+        writeSignedVarInt(x - position[0]);
+        writeSignedVarInt(y - position[1]);
+        writeSignedVarInt(z - position[2]);
+        position[0] = x;
+        position[1] = y;
+        position[2] = z;
+    }
+
+    /**
+     * Starts a new tick. All following records belong to this tick.
+     */
+    public void recordTick(int tick) {
+        if (!beginRecord(ReplayFormat.TICK)) {
+            return;
+        }
+
+        writeVarInt(tick - lastTick);
+        lastTick = tick;
+    }
+
+    public void recordRound(int round) {
+        if (!beginRecord(ReplayFormat.ROUND)) {
+            return;
+        }
+
+        writeVarInt(round);
+    }
+
+    public void recordPlayerPosition(ZombiesPlayer player, double x, double y, double z) {
+        int fixedX = ReplayFormat.toFixed(x);
+        int fixedY = ReplayFormat.toFixed(y);
+        int fixedZ = ReplayFormat.toFixed(z);
+
+        Integer id = playerIds.get(player);
+        if (id == null) {
+            if (!beginRecord(ReplayFormat.PLAYER_JOINED)) {
+                return;
+            }
+
+            id = playerPositions.size();
+            playerIds.put(player, id);
+            playerPositions.add(new int[3]);
+            writeVarInt(id);
+            writeString(player.getPlayer().getName());
+        }
+
+        int[] position = playerPositions.get(id);
+        if (position[0] == fixedX && position[1] == fixedY && position[2] == fixedZ) {
+            return;
+        }
+
+        if (!beginRecord(ReplayFormat.PLAYER_MOVED)) {
+            return;
+        }
+
+        writeVarInt(id);
+        writeMove(position, fixedX, fixedY, fixedZ);
+    }
+
+    public void recordMonsterSpawned(int monster, String type, double x, double y, double z) {
+        Integer typeId = monsterTypeIds.get(type);
+        if (typeId == null) {
+            if (!beginRecord(ReplayFormat.MONSTER_TYPE)) {
+                return;
+            }
+
+            typeId = monsterTypeIds.size();
+            monsterTypeIds.put(type, typeId);
+            writeVarInt(typeId);
+            writeString(type);
+        }
+
+        if (!beginRecord(ReplayFormat.MONSTER_SPAWNED)) {
+            return;
+        }
+
+        int[] position = new int[] {ReplayFormat.toFixed(x), ReplayFormat.toFixed(y), ReplayFormat.toFixed(z)};
+        monsterPositions.put(monster, position);
+
+        writeVarInt(monster);
+        writeVarInt(typeId);
+        writeSignedVarInt(position[0]);
+        writeSignedVarInt(position[1]);
+        writeSignedVarInt(position[2]);
+    }
+
+    public void recordMonsterPosition(int monster, double x, double y, double z) {
+        int[] position = monsterPositions.get(monster);
+        if (position == null) {
+            return;
+        }
+
+        int fixedX = ReplayFormat.toFixed(x);
+        int fixedY = ReplayFormat.toFixed(y);
+        int fixedZ = ReplayFormat.toFixed(z);
+        if (position[0] == fixedX && position[1] == fixedY && position[2] == fixedZ) {
+            return;
+        }
+
+        if (!beginRecord(ReplayFormat.MONSTER_MOVED)) {
+            return;
+        }
+
+        writeVarInt(monster);
+        writeMove(position, fixedX, fixedY, fixedZ);
+    }
+
+    public void recordMonsterKilled(int monster) {
+        if (!beginRecord(ReplayFormat.MONSTER_KILLED)) {
+            return;
+        }
+
+        writeVarInt(monster);
+    }
+
+    public void recordMonsterDespawned(int monster) {
+        if (monsterPositions.remove(monster) == null || !beginRecord(ReplayFormat.MONSTER_DESPAWNED)) {
+            return;
+        }
+
+        writeVarInt(monster);
+    }
+
+    public void recordShot(ZombiesPlayer player, double x, double y, double z, float yaw, float pitch, int pellets) {
+        Integer id = playerIds.get(player);
+        if (id == null || !beginRecord(ReplayFormat.SHOT)) {
+            return;
+        }
+
+        writeVarInt(id);
+        writeSignedVarInt(ReplayFormat.toFixed(x));
+        writeSignedVarInt(ReplayFormat.toFixed(y));
+        writeSignedVarInt(ReplayFormat.toFixed(z));
+        // Angles are stored in tenths of a degree
+        writeSignedVarInt(Math.round(yaw * 10));
+        writeSignedVarInt(Math.round(pitch * 10));
+        writeVarInt(pellets);
+    }
+
+    public void recordDoorOpened(int door) {
+        if (!beginRecord(ReplayFormat.DOOR_OPENED)) {
+            return;
+        }
+
+        writeVarInt(door);
+    }
+
+    /**
+     * Stops writing records. The buffered records are still written to the file.
+     */
+    private void stop() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+
+        if (buffer != null) {
+            buffer.flip();
+            filledBuffers.offer(buffer);
+            buffer = null;
+        }
+        filledBuffers.offer(END_OF_STREAM);
+    }
+
+    /**
+     * Writes the end of the replay and waits until the writer thread has written everything to the file
+     */
+    public void close() {
+        if (beginRecord(ReplayFormat.END)) {
+            stop();
+        }
+
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+}
@@ -1,18 +1,22 @@
 package io.github.lama06.llamagames.zombies.weapon;
 
-import com.destroystokyo.paper.event.server.ServerTickStartEvent;
+import io.github.lama06.llamagames.util.ComponentPrototype;
 import io.github.lama06.llamagames.zombies.ZombiesGame;
 import io.github.lama06.llamagames.zombies.ZombiesPlayer;
+import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.plugin.Plugin;
+
+public class AmmoComponent implements ComponentPrototype<Object> {
+    private static final int NOT_RELOADING = -1;
 
-public class AmmoComponent {
     public int maxTotalAmmo;
     public int totalAmmoRemaining;
     public int maxMagazineAmmo;
     public int magazineAmmoRemaining;
     public int reloadTime;
-    public int remainingReloadTime = 0;
+    public int reloadReadyAtTick = NOT_RELOADING;
 
     public AmmoComponent(int maxTotalAmmo, int maxMagazineAmmo, int reloadTime) {
         this.maxTotalAmmo = maxTotalAmmo;
@@ -23,40 +27,51 @@ public class AmmoComponent {
         magazineAmmoRemaining = maxMagazineAmmo;
     }
 
-    public static class ReloadAmmoSystem extends WeaponSystem {
-        public ReloadAmmoSystem(ZombiesGame game) {
-            super(game);
-        }
+    @Override
+    public AmmoComponent instantiate(Object owner) {
+        return new AmmoComponent(maxTotalAmmo, maxMagazineAmmo, reloadTime);
+    }
 
-        @EventHandler
-        public void tick(ServerTickStartEvent event) {
-            if (!game.isRunning()) return;
+    /**
+     * Completes the reload if it is over
+     */
+    public void update() {
+        if (reloadReadyAtTick == NOT_RELOADING || Bukkit.getCurrentTick() < reloadReadyAtTick) {
+            return;
+        }
 
-            for (Weapon<?> weapon : getAllWeapons()) {
-                AmmoComponent component = weapon.getComponents().getComponent(AmmoComponent.class);
-                if (component == null) {
-                    continue;
-                }
+        reloadReadyAtTick = NOT_RELOADING;
 
-                if (component.remainingReloadTime > 1) {
-                    component.remainingReloadTime--;
-                    continue;
-                }
+        int reloadAmmo = Math.min(maxMagazineAmmo, totalAmmoRemaining);
+        totalAmmoRemaining -= reloadAmmo;
+        magazineAmmoRemaining = reloadAmmo;
+    }
 
-                if (component.remainingReloadTime == 1) {
-                    component.remainingReloadTime = 0;
+    public boolean isReloading() {
+        update();
+        return reloadReadyAtTick != NOT_RELOADING;
+    }
 
-                    int reloadAmmo = Math.min(component.maxMagazineAmmo, component.totalAmmoRemaining);
-                    component.totalAmmoRemaining -= reloadAmmo;
-                    component.magazineAmmoRemaining = reloadAmmo;
+    /**
+     * Starts reloading unless the weapon is already reloading, the magazine is full or there is no ammo left.
+     * The reload is completed by a task that runs when it is over or earlier if the weapon is used before that.
+     */
+    public boolean startReload(Plugin plugin) {
+        if (isReloading() || totalAmmoRemaining == 0 || magazineAmmoRemaining == maxMagazineAmmo) {
+            return false;
+        }
 
-                    continue;
-                }
+        reloadReadyAtTick = Bukkit.getCurrentTick() + reloadTime;
+        Bukkit.getScheduler().runTaskLater(plugin, this::update, reloadTime);
+        return true;
+    }
 
-                if (component.remainingReloadTime == 0 && component.magazineAmmoRemaining == 0 && component.totalAmmoRemaining > 0) {
-                    component.remainingReloadTime = component.reloadTime;
-                }
-            }
+    /**
+     * Starts reloading by right-clicking
+     */
+    public static class ReloadAmmoSystem extends WeaponSystem {
+        public ReloadAmmoSystem(ZombiesGame game) {
+            super(game);
         }
 
         @EventHandler
@@ -80,11 +95,7 @@ public class AmmoComponent {
                 return;
             }
 
-            if (component.totalAmmoRemaining == 0 || component.magazineAmmoRemaining == component.maxMagazineAmmo) {
-                return;
-            }
-
-            component.remainingReloadTime = component.reloadTime;
+            component.startReload(game.getPlugin());
         }
     }
 
@@ -93,10 +104,8 @@ public class AmmoComponent {
             super(game);
         }
 
-        @EventHandler
-        public void tick(ServerTickStartEvent event) {
-            if (!game.isRunning()) return;
-
+        @Override
+        public void tick(int tickNumber) {
             for (ZombiesPlayer player : game.getZombiesPlayers()) {
                 if (player == null) {
                     continue;
@@ -126,10 +135,8 @@ public class AmmoComponent {
             super(game);
         }
 
-        @EventHandler
-        public void tick(ServerTickStartEvent event) {
-            if (!game.isRunning()) return;
-
+        @Override
+        public void tick(int tickNumber) {
             for (ZombiesPlayer player : game.getZombiesPlayers()) {
                 Weapon<?> weapon = player.getWeaponInHand();
                 if (weapon == null) {
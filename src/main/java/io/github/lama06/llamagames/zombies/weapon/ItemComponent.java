@@ -1,53 +1,96 @@
 package io.github.lama06.llamagames.zombies.weapon;
 
-import com.destroystokyo.paper.event.server.ServerTickStartEvent;
+import io.github.lama06.llamagames.util.ComponentPrototype;
 import io.github.lama06.llamagames.zombies.ZombiesGame;
 import io.github.lama06.llamagames.zombies.ZombiesPlayer;
 import net.kyori.adventure.text.Component;
-import org.bukkit.event.EventHandler;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
 import java.util.Objects;
 
-public class ItemComponent {
+public class ItemComponent implements ComponentPrototype<Object> {
     public ItemStack item;
+    private ItemStack renderedItem;
 
     public ItemComponent(ItemStack item) {
         this.item = item;
     }
 
+    /**
+     * The copy shares the item and the rendered item of the prototype. The item must therefore be replaced instead of
+     * being modified.
+     */
+    @Override
+    public ItemComponent instantiate(Object owner) {
+        if (owner instanceof Weapon<?> weapon) {
+            getRenderedItem(weapon);
+        }
+
+        ItemComponent component = new ItemComponent(item);
+        component.renderedItem = renderedItem;
+        return component;
+    }
+
+    /**
+     * Returns the item that is displayed in the inventory. The item is only created again after {@link #invalidate()}.
+     */
+    public ItemStack getRenderedItem(Weapon<?> weapon) {
+        if (renderedItem == null) {
+            renderedItem = new ItemStack(item);
+            renderedItem.editMeta(meta -> meta.displayName(Component.text(weapon.getType().getDisplayName())));
+        }
+
+        return renderedItem;
+    }
+
+    /**
+     * Must be called after {@link #item} was changed.
+     */
+    public void invalidate() {
+        renderedItem = null;
+    }
+
+    /**
+     * Only sets the inventory slots whose item changed since they were set the last time. Changes to the inventory that
+     * don't fire an event, such as commands, are repaired by comparing one slot per tick with the inventory.
+     */
     public static class DisplayItemsSystem extends WeaponSystem {
         public DisplayItemsSystem(ZombiesGame game) {
             super(game);
         }
 
-        @EventHandler
-        public void tick(ServerTickStartEvent event) {
-            if (!game.isRunning()) return;
-
+        @Override
+        public void tick(int tickNumber) {
             for (ZombiesPlayer player : game.getZombiesPlayers()) {
+                boolean forceUpdate = player.areDisplayedItemsInvalid();
+
                 List<Weapon<?>> weapons = player.getWeapons();
+                int verifiedSlot = weapons.isEmpty() ? -1 : tickNumber % weapons.size();
+
                 for (int i = 0; i < weapons.size(); i++) {
                     Weapon<?> weapon = weapons.get(i);
-                    if (weapon == null) {
-                        player.getPlayer().getInventory().setItem(i, null);
-                        continue;
-                    }
 
-                    ItemComponent component = weapon.getComponents().getComponent(ItemComponent.class);
-                    if (component == null) {
-                        player.getPlayer().getInventory().setItem(i, null);
-                        continue;
+                    ItemStack item = null;
+                    if (weapon != null) {
+                        ItemComponent component = weapon.getComponents().getComponent(ItemComponent.class);
+                        if (component != null) {
+                            item = component.getRenderedItem(weapon);
+                        }
                     }
 
-                    ItemStack item = new ItemStack(component.item);
-                    item.editMeta(meta -> meta.displayName(Component.text(weapon.getType().getDisplayName())));
-
-                    if (!Objects.equals(player.getPlayer().getInventory().getItem(i), item)) {
-                        player.getPlayer().getInventory().setItem(i, item);
+                    // The rendered items are cached, so comparing the references is enough
+                    if (!forceUpdate && player.getDisplayedItem(i) == item) {
+                        if (i != verifiedSlot || Objects.equals(item, player.getPlayer().getInventory().getItem(i))) {
+                            continue;
+                        }
                     }
+
+                    player.getPlayer().getInventory().setItem(i, item);
+                    player.setDisplayedItem(i, item);
                 }
+
+                player.validateDisplayedItems();
             }
         }
     }
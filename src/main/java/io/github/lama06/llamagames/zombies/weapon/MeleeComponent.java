@@ -1,14 +1,12 @@
 package io.github.lama06.llamagames.zombies.weapon;
 
+import io.github.lama06.llamagames.util.ComponentPrototype;
 import io.github.lama06.llamagames.zombies.ZombiesGame;
 import io.github.lama06.llamagames.zombies.ZombiesPlayer;
-import io.github.lama06.llamagames.zombies.monster.HealthComponent;
-import io.github.lama06.llamagames.zombies.monster.Monster;
-import org.bukkit.entity.Entity;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.player.PlayerInteractEvent;
 
-public class MeleeComponent {
+public class MeleeComponent implements ComponentPrototype<Object> {
     public int maxRange;
     public int damage;
 
@@ -17,6 +15,11 @@ public class MeleeComponent {
         this.damage = damage;
     }
 
+    @Override
+    public MeleeComponent instantiate(Object owner) {
+        return new MeleeComponent(maxRange, damage);
+    }
+
     public static class MeleeAttackSystem extends WeaponSystem {
         public MeleeAttackSystem(ZombiesGame game) {
             super(game);
@@ -43,33 +46,31 @@ public class MeleeComponent {
                 return;
             }
 
+            Runnable missCallback = null;
             AttackCooldownComponent cooldownComponent = weapon.getComponents().getComponent(AttackCooldownComponent.class);
             if (cooldownComponent != null) {
                 if (!cooldownComponent.canAttack()) {
                     return;
                 }
-            }
-
-            Entity targetEntity = player.getPlayer().getTargetEntity(meleeComponent.maxRange);
-            if (targetEntity == null) {
-                return;
-            }
 
-            Monster<?, ?> monster = game.getMonster(targetEntity);
-            if (monster == null) {
-                return;
-            }
-
-            HealthComponent healthComponent = monster.getComponents().getComponent(HealthComponent.class);
-            if (healthComponent == null) {
-                return;
-            }
-
-            healthComponent.damage(meleeComponent.damage, player.getPlayer());
-
-            if (cooldownComponent != null) {
+                // The cooldown is reserved now, so that further clicks in this tick can't queue more hits.
+                // It only counts if the monster was hit.
+                int previousReadyAtTick = cooldownComponent.readyAtTick;
                 cooldownComponent.startCooldown();
+                missCallback = () -> cooldownComponent.readyAtTick = previousReadyAtTick;
             }
+
+            game.getHitscanEngine().queueShot(
+                    player,
+                    player.getPlayer().getEyeLocation(),
+                    meleeComponent.maxRange,
+                    meleeComponent.damage,
+                    1,
+                    0,
+                    0,
+                    null,
+                    missCallback
+            );
         }
     }
 }
@@ -1,22 +1,40 @@
 package io.github.lama06.llamagames.zombies.weapon;
 
+import io.github.lama06.llamagames.util.ComponentPrototype;
 import io.github.lama06.llamagames.zombies.ZombiesGame;
 import io.github.lama06.llamagames.zombies.ZombiesPlayer;
-import io.github.lama06.llamagames.zombies.monster.HealthComponent;
-import io.github.lama06.llamagames.zombies.monster.Monster;
-import org.bukkit.entity.Entity;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.player.PlayerInteractEvent;
 
-public class ShootComponent {
+public class ShootComponent implements ComponentPrototype<Object> {
     public int maxRange;
     public int damage;
+    public int pellets = 1;
+    public double spread = 0;
+    public int pierce = 0;
 
     public ShootComponent(int maxRange, int damage) {
         this.maxRange = maxRange;
         this.damage = damage;
     }
 
+    /**
+     * @param damage the damage of each pellet
+     * @param spread the maximum deviation of a pellet in degrees
+     * @param pierce the number of monsters a pellet can pass through
+     */
+    public ShootComponent(int maxRange, int damage, int pellets, double spread, int pierce) {
+        this(maxRange, damage);
+        this.pellets = pellets;
+        this.spread = spread;
+        this.pierce = pierce;
+    }
+
+    @Override
+    public ShootComponent instantiate(Object owner) {
+        return new ShootComponent(maxRange, damage, pellets, spread, pierce);
+    }
+
     public static class ShootSystem extends WeaponSystem {
         public ShootSystem(ZombiesGame game) {
             super(game);
@@ -40,10 +58,14 @@ public class ShootComponent {
 
             AmmoComponent ammoComponent = weapon.getComponents().getComponent(AmmoComponent.class);
             if (ammoComponent != null) {
-                if (ammoComponent.remainingReloadTime != 0 || ammoComponent.magazineAmmoRemaining == 0) {
+                if (ammoComponent.isReloading() || ammoComponent.magazineAmmoRemaining == 0) {
                     return;
                 }
                 ammoComponent.magazineAmmoRemaining--;
+
+                if (ammoComponent.magazineAmmoRemaining == 0) {
+                    ammoComponent.startReload(game.getPlugin());
+                }
             }
 
             AttackCooldownComponent cooldownComponent = weapon.getComponents().getComponent(AttackCooldownComponent.class);
@@ -59,22 +81,17 @@ public class ShootComponent {
                 return;
             }
 
-            Entity targetEntity = player.getPlayer().getTargetEntity(shootComponent.maxRange);
-            if (targetEntity == null) {
-                return;
-            }
-
-            Monster<?, ?> monster = game.getMonster(targetEntity);
-            if (monster == null) {
-                return;
-            }
-
-            HealthComponent healthComponent = monster.getComponents().getComponent(HealthComponent.class);
-            if (healthComponent == null) {
-                return;
-            }
-
-            healthComponent.damage(shootComponent.damage, player.getPlayer());
+            game.getHitscanEngine().queueShot(
+                    player,
+                    player.getPlayer().getEyeLocation(),
+                    shootComponent.maxRange,
+                    shootComponent.damage,
+                    shootComponent.pellets,
+                    shootComponent.spread,
+                    shootComponent.pierce,
+                    null,
+                    null
+            );
         }
     }
 }
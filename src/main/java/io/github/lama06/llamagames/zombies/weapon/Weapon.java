@@ -18,7 +18,9 @@ public abstract class Weapon<T extends Weapon<T>> {
         initComponents();
     }
 
-    public abstract void initComponents();
+    public void initComponents() {
+        type.getTemplate().instantiate(this, components);
+    }
 
     public ZombiesGame getGame() {
         return game;
@@ -1,38 +1,16 @@
 package io.github.lama06.llamagames.zombies.weapon;
 
+import io.github.lama06.llamagames.util.ComponentStore;
 import io.github.lama06.llamagames.zombies.ZombiesGame;
-import io.github.lama06.llamagames.zombies.ZombiesPlayer;
-import org.bukkit.Bukkit;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
-
-import java.util.HashSet;
-import java.util.Set;
-
-public abstract class WeaponSystem implements Listener {
-    protected final ZombiesGame game;
+import io.github.lama06.llamagames.zombies.ZombiesSystem;
 
+public abstract class WeaponSystem extends ZombiesSystem<Weapon<?>> {
     public WeaponSystem(ZombiesGame game) {
-        this.game = game;
-    }
-
-    public void register() {
-        Bukkit.getPluginManager().registerEvents(this, game.getPlugin());
+        super(game);
     }
 
-    public void unregister() {
-        HandlerList.unregisterAll(this);
-    }
-
-    protected Set<Weapon<?>> getAllWeapons() {
-        Set<Weapon<?>> weapons = new HashSet<>();
-
-        for (ZombiesPlayer player : game.getZombiesPlayers()) {
-            for (Weapon<?> weapon : player.getWeapons()) {
-                if (weapon != null) weapons.add(weapon);
-            }
-        }
-
-        return weapons;
+    @Override
+    protected ComponentStore<Weapon<?>> getComponentStore() {
+        return game.getWeaponStore();
     }
 }
@@ -2,24 +2,23 @@ package io.github.lama06.llamagames.zombies.weapon;
 
 import io.github.lama06.llamagames.zombies.ZombiesGame;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 @SuppressWarnings("unused")
 public record WeaponSystemType<T extends WeaponSystem>(Function<ZombiesGame, T> creator) {
-    private static final Set<WeaponSystemType<?>> TYPES = new HashSet<>();
+    private static final List<WeaponSystemType<?>> TYPES = new ArrayList<>();
 
-    public static Set<WeaponSystemType<?>> getTypes() {
+    /**
+     * Returns the types in the order in which their systems are ticked
+     */
+    public static List<WeaponSystemType<?>> getTypes() {
         return TYPES;
     }
 
     public static final WeaponSystemType<AmmoComponent.ReloadAmmoSystem> RELOAD_AMMO = new WeaponSystemType<>(AmmoComponent.ReloadAmmoSystem::new);
 
-    public static final WeaponSystemType<AttackCooldownComponent.TickAttackCooldownSystem> TICK_ATTACK_COOLDOWN = new WeaponSystemType<>(
-            AttackCooldownComponent.TickAttackCooldownSystem::new
-    );
-
     public static final WeaponSystemType<MeleeComponent.MeleeAttackSystem> MELEE_ATTACK = new WeaponSystemType<>(MeleeComponent.MeleeAttackSystem::new);
 
     public static final WeaponSystemType<ShootComponent.ShootSystem> SHOOT = new WeaponSystemType<>(ShootComponent.ShootSystem::new);
@@ -1,42 +1,80 @@
 package io.github.lama06.llamagames.zombies.weapon;
 
+import io.github.lama06.llamagames.util.ComponentTemplate;
 import io.github.lama06.llamagames.zombies.ZombiesPlayer;
 import io.github.lama06.llamagames.zombies.ZombiesGame;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
 
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 
 @SuppressWarnings({"ClassCanBeRecord", "unused"})
 public class WeaponType<T extends Weapon<T>> {
-    private static final Set<WeaponType<?>> TYPES = new HashSet<>();
+    private static final Map<String, WeaponType<?>> TYPES = new HashMap<>();
 
-    public Set<WeaponType<?>> getTypes() {
-        return TYPES;
+    public static Collection<WeaponType<?>> getTypes() {
+        return TYPES.values();
     }
 
     public static Optional<WeaponType<?>> getByName(String name) {
-        return TYPES.stream().filter(type -> type.name.equals(name)).findFirst();
+        return Optional.ofNullable(TYPES.get(name));
     }
 
-    public static final WeaponType<Knife> KNIFE = Knife.TYPE;
-
-    public static final WeaponType<Rifle> RIFLE = Rifle.TYPE;
-
-    public static final WeaponType<Shotgun> SHOTGUN = Shotgun.TYPE;
-
-    public static final WeaponType<Pistol> PISTOL = Pistol.TYPE;
+    public static final WeaponType<Knife> KNIFE = new WeaponType<>(
+            "knife",
+            "Knife",
+            Knife::new,
+            new ComponentTemplate<Weapon<?>>()
+                    .add(new AttackCooldownComponent(30))
+                    .add(new MeleeComponent(5, 3))
+                    .add(new ItemComponent(new ItemStack(Material.IRON_SWORD)))
+    );
+
+    public static final WeaponType<Rifle> RIFLE = new WeaponType<>(
+            "rifle",
+            "Rifle",
+            Rifle::new,
+            new ComponentTemplate<Weapon<?>>()
+                    .add(new AmmoComponent(300, 30, 40))
+                    .add(new AttackCooldownComponent(4))
+                    .add(new ItemComponent(new ItemStack(Material.STONE_HOE)))
+                    .add(new ShootComponent(20, 5, 1, 0, 1))
+    );
+
+    public static final WeaponType<Shotgun> SHOTGUN = new WeaponType<>(
+            "shotgun",
+            "Shotgun",
+            Shotgun::new,
+            new ComponentTemplate<Weapon<?>>()
+                    .add(new AmmoComponent(90, 6, 50))
+                    .add(new AttackCooldownComponent(10))
+                    .add(new ItemComponent(new ItemStack(Material.IRON_HOE)))
+                    .add(new ShootComponent(7, 4, 5, 8, 0))
+    );
+
+    public static final WeaponType<Pistol> PISTOL = new WeaponType<>(
+            "pistol",
+            "Pistol",
+            Pistol::new,
+            new ComponentTemplate<Weapon<?>>()
+                    .add(new AmmoComponent(200, 20, 20))
+                    .add(new AttackCooldownComponent(3))
+                    .add(new ItemComponent(new ItemStack(Material.STONE_HOE)))
+                    .add(new ShootComponent(15, 4))
+    );
 
     private final String name;
     private final String displayName;
     private final WeaponCreator<T> creator;
+    private final ComponentTemplate<Weapon<?>> template;
 
-    public WeaponType(String name, String displayName, WeaponCreator<T> creator) {
+    public WeaponType(String name, String displayName, WeaponCreator<T> creator, ComponentTemplate<Weapon<?>> template) {
         this.name = name;
         this.displayName = displayName;
         this.creator = creator;
+        this.template = template;
 
-        TYPES.add(this);
+        TYPES.put(name, this);
     }
 
     public String getName() {
@@ -51,6 +89,13 @@ public class WeaponType<T extends Weapon<T>> {
         return creator;
     }
 
+    /**
+     * Returns the components every weapon of this type starts with
+     */
+    public ComponentTemplate<Weapon<?>> getTemplate() {
+        return template;
+    }
+
     public interface WeaponCreator<T extends Weapon<T>> {
         T createWeapon(ZombiesGame game, ZombiesPlayer player, WeaponType<T> type);
     }